@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import com.google.common.base.Optional;
+
+import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
+
+/**
+ * Base class of {@link CharSequenceFormatValidator} implementations.
+ */
+public abstract class AbstractCharSequenceFormatValidator extends AbstractFormatValidator
+        implements CharSequenceFormatValidator {
+
+    /**
+     * Adapts a {@link FormatValidator} which only implements {@link FormatValidator#validate(String)}.
+     */
+    private static final class StringFormatValidatorAdapter extends AbstractCharSequenceFormatValidator {
+
+        private final FormatValidator formatValidator;
+
+        private StringFormatValidatorAdapter(final FormatValidator formatValidator) {
+            this.formatValidator = formatValidator;
+        }
+
+        @Override
+        public boolean isValid(final CharSequence subject) {
+            return !formatValidator.validate(subject.toString()).isPresent();
+        }
+
+        @Override
+        public String failureMessage(final CharSequence subject) {
+            return formatValidator.validate(subject == null ? null : subject.toString()).orNull();
+        }
+
+        @Override
+        public Optional<String> validate(final String subject) {
+            return formatValidator.validate(subject);
+        }
+
+        @Override
+        public String formatName() {
+            return formatValidator.formatName();
+        }
+    }
+
+    /**
+     * Returns {@code formatValidator} as a {@link CharSequenceFormatValidator}. If it doesn't implement
+     * that interface, then the returned adapter converts the subjects to strings and calls
+     * {@link FormatValidator#validate(String)}.
+     *
+     * @param formatValidator the format validator to be adapted
+     * @return a {@code CharSequenceFormatValidator} equivalent to {@code formatValidator}
+     */
+    public static CharSequenceFormatValidator adapt(final FormatValidator formatValidator) {
+        requireNonNull(formatValidator, "formatValidator cannot be null");
+        if (formatValidator instanceof CharSequenceFormatValidator) {
+            return (CharSequenceFormatValidator) formatValidator;
+        }
+        return new StringFormatValidatorAdapter(formatValidator);
+    }
+
+    /**
+     * Calls {@link #isValid(CharSequence)}, and renders the failure message only if {@code subject} is
+     * invalid. {@code null} subjects are invalid.
+     */
+    @Override
+    public Optional<String> validate(final String subject) {
+        if (subject != null && isValid(subject)) {
+            return Optional.absent();
+        }
+        return Optional.of(failureMessage(subject));
+    }
+}
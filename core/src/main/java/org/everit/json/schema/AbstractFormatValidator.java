@@ -15,12 +15,16 @@
  */
 package org.everit.json.schema;
 
+import com.google.common.base.Optional;
+
 import org.everit.json.schema.internal.DateTimeFormatValidator;
 import org.everit.json.schema.internal.EmailFormatValidator;
 import org.everit.json.schema.internal.HostnameFormatValidator;
 import org.everit.json.schema.internal.IPV4Validator;
 import org.everit.json.schema.internal.IPV6Validator;
+import org.everit.json.schema.internal.IRIFormatValidator;
 import org.everit.json.schema.internal.URIFormatValidator;
+import org.everit.json.schema.internal.URIReferenceFormatValidator;
 
 import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
 
@@ -40,30 +44,52 @@ public abstract class AbstractFormatValidator implements FormatValidator {
      * <li>email</li>
      * <li>hostname</li>
      * <li>uri</li>
+     * <li>uri-reference</li>
+     * <li>iri</li>
      * <li>ipv4</li>
      * <li>ipv6</li>
      * </ul>
      *
-     * @param formatName one of the 6 built-in formats.
+     * @param formatName one of the 8 built-in formats.
      * @return a {@code FormatValidator} implementation handling the {@code formatName} format.
      */
     static FormatValidator forFormat(final String formatName) {
         requireNonNull(formatName, "formatName cannot be null");
+        Optional<FormatValidator> formatValidator = forBuiltInFormat(formatName);
+        if (!formatValidator.isPresent()) {
+            throw new IllegalArgumentException("unsupported format: " + formatName);
+        }
+        return formatValidator.get();
+    }
+
+    /**
+     * Creates a new instance of the built-in validator of {@code formatName} (see
+     * {@link #forFormat(String)} for the list of built-in formats).
+     *
+     * @param formatName the name of the format
+     * @return the new validator, or {@link Optional#absent()} if {@code formatName} is not a built-in
+     * format
+     */
+    public static Optional<FormatValidator> forBuiltInFormat(final String formatName) {
         switch (formatName) {
             case "date-time":
-                return new DateTimeFormatValidator();
+                return Optional.<FormatValidator>of(new DateTimeFormatValidator());
             case "email":
-                return new EmailFormatValidator();
+                return Optional.<FormatValidator>of(new EmailFormatValidator());
             case "hostname":
-                return new HostnameFormatValidator();
+                return Optional.<FormatValidator>of(new HostnameFormatValidator());
             case "uri":
-                return new URIFormatValidator();
+                return Optional.<FormatValidator>of(new URIFormatValidator());
+            case "uri-reference":
+                return Optional.<FormatValidator>of(new URIReferenceFormatValidator());
+            case "iri":
+                return Optional.<FormatValidator>of(new IRIFormatValidator());
             case "ipv4":
-                return new IPV4Validator();
+                return Optional.<FormatValidator>of(new IPV4Validator());
             case "ipv6":
-                return new IPV6Validator();
+                return Optional.<FormatValidator>of(new IPV6Validator());
             default:
-                throw new IllegalArgumentException("unsupported format: " + formatName);
+                return Optional.absent();
         }
     }
 
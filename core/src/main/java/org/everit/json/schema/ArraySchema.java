@@ -23,8 +23,10 @@ import org.json.JSONArray;
 import org.json.JSONException;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
 
@@ -55,6 +57,8 @@ public class ArraySchema extends Schema {
 
         private Schema schemaOfAdditionalItems;
 
+        private ParallelItemValidator parallelItemValidator;
+
         /**
          * Adds an item schema for tuple validation. The array items of the subject under validation
          * will be matched to expected schemas by their index. In other words the {n}th
@@ -82,6 +86,25 @@ public class ArraySchema extends Schema {
             return this;
         }
 
+        /**
+         * Enables the parallel validation of the items against the {@link #allItemSchema(Schema) schema
+         * of all items}. Arrays with more than {@code threshold} items are split into chunks of
+         * {@code threshold} items, which are validated by the tasks submitted to {@code executor}. The
+         * failures are reported in index order, the same way as during sequential validation.
+         * <p>
+         * The calling thread also validates the chunks which are not yet started by the executor, so a
+         * bounded executor is safe to use, also for nested arrays sharing the same executor.
+         *
+         * @param executor  runs the validation of the chunks
+         * @param threshold the minimum number of items triggering parallel validation, and the number of
+         *                  items validated by each task. Must be positive.
+         * @return this
+         */
+        public Builder parallelItemValidation(final Executor executor, final int threshold) {
+            this.parallelItemValidator = new ParallelItemValidator(executor, threshold);
+            return this;
+        }
+
         @Override
         public ArraySchema build() {
             return new ArraySchema(this);
@@ -121,6 +144,7 @@ public class ArraySchema extends Schema {
     private final List<Schema> itemSchemas;
     private final boolean requiresArray;
     private final Schema schemaOfAdditionalItems;
+    private final ParallelItemValidator parallelItemValidator;
 
     /**
      * Constructor.
@@ -144,6 +168,7 @@ public class ArraySchema extends Schema {
             throw new SchemaException("cannot perform both tuple and list validation");
         }
         this.requiresArray = builder.requiresArray;
+        this.parallelItemValidator = builder.parallelItemValidator;
     }
 
     public static Builder builder() {
@@ -207,7 +232,11 @@ public class ArraySchema extends Schema {
     private List<ValidationException> testItems(final JSONArray subject) throws JSONException {
         List<ValidationException> rval = new ArrayList<>();
         if (allItemSchema != null) {
-            validateItemsAgainstSchema(subject.length(), subject, allItemSchema, rval);
+            if (validatesInParallel(subject)) {
+                rval.addAll(parallelItemValidator.validate(subject, allItemSchema));
+            } else {
+                validateItemsAgainstSchema(subject.length(), subject, allItemSchema, rval);
+            }
         } else if (itemSchemas != null) {
             if (!additionalItems && subject.length() > itemSchemas.size()) {
                 rval.add(new ValidationException(this, String.format(
@@ -268,21 +297,68 @@ public class ArraySchema extends Schema {
     }
 
     private Optional<ValidationException> testUniqueness(final JSONArray subject) throws JSONException {
-        if (subject.length() == 0) {
-            return Optional.absent();
+        if (!hasUniqueItems(subject)) {
+            return Optional.of(
+                    new ValidationException(this, "array items are not unique", "uniqueItems"));
         }
-        Collection<Object> uniqueItems = new ArrayList<Object>(subject.length());
-        for (int i = 0; i < subject.length(); ++i) {
-            Object item = subject.get(i);
-            for (Object contained : uniqueItems) {
-                if (ObjectComparator.deepEquals(contained, item)) {
-                    return Optional.of(
-                            new ValidationException(this, "array items are not unique", "uniqueItems"));
+        return Optional.absent();
+    }
+
+    /**
+     * Checks if the items of {@code subject} are unique, in expected linear time: the items are put
+     * into a hash set by their {@link ObjectComparator#deepHashCode(Object) deep hash code}, and
+     * {@link ObjectComparator#deepEquals(Object, Object)} is only called on hash collisions.
+     */
+    static boolean hasUniqueItems(final JSONArray subject) throws JSONException {
+        int length = subject.length();
+        if (length < 2) {
+            return true;
+        }
+        Set<StructuralKey> uniqueItems = new HashSet<>(length * 4 / 3 + 1);
+        for (int i = 0; i < length; ++i) {
+            if (!uniqueItems.add(new StructuralKey(subject.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean validatesInParallel(final JSONArray subject) {
+        return parallelItemValidator != null && parallelItemValidator.appliesTo(subject.length());
+    }
+
+    private boolean itemsAreValid(final JSONArray subject) throws JSONException {
+        int length = subject.length();
+        if (allItemSchema != null) {
+            if (validatesInParallel(subject)) {
+                return parallelItemValidator.isValid(subject, allItemSchema);
+            }
+            return itemsAreValid(0, length, subject, allItemSchema);
+        } else if (itemSchemas != null) {
+            if (!additionalItems && length > itemSchemas.size()) {
+                return false;
+            }
+            int itemValidationUntil = Math.min(length, itemSchemas.size());
+            for (int i = 0; i < itemValidationUntil; ++i) {
+                if (!itemSchemas.get(i).isValid(subject.get(i))) {
+                    return false;
                 }
             }
-            uniqueItems.add(item);
+            if (schemaOfAdditionalItems != null) {
+                return itemsAreValid(itemValidationUntil, length, subject, schemaOfAdditionalItems);
+            }
         }
-        return Optional.absent();
+        return true;
+    }
+
+    private boolean itemsAreValid(final int startInclusive, final int endExclusive, final JSONArray items,
+            final Schema schema) throws JSONException {
+        for (int i = startInclusive; i < endExclusive; ++i) {
+            if (!schema.isValid(items.get(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -308,6 +384,89 @@ public class ArraySchema extends Schema {
         ValidationException.throwFor(this, failures);
     }
 
+    @Override
+    public void validate(final Object subject, final ValidationResult result) {
+        if (!(subject instanceof JSONArray)) {
+            if (requiresArray) {
+                result.addFailure(new ValidationException(this, JSONArray.class, subject));
+            }
+            return;
+        }
+        JSONArray arrSubject = (JSONArray) subject;
+        Optional<ValidationException> itemCountFailure = testItemCount(arrSubject);
+        if (itemCountFailure.isPresent()) {
+            result.addFailure(itemCountFailure.get());
+        }
+        try {
+            if (uniqueItems && !result.hasReachedLimit()) {
+                Optional<ValidationException> uniquenessFailure = testUniqueness(arrSubject);
+                if (uniquenessFailure.isPresent()) {
+                    result.addFailure(uniquenessFailure.get());
+                }
+            }
+            collectItemFailures(arrSubject, result);
+        } catch (JSONException e) {
+            e.printStackTrace();
+            result.addFailure(new ValidationException(this, JSONArray.class, subject));
+        }
+    }
+
+    private void collectItemFailures(final JSONArray subject, final ValidationResult result) throws JSONException {
+        int length = subject.length();
+        if (allItemSchema != null) {
+            collectItemFailures(0, length, subject, allItemSchema, result);
+        } else if (itemSchemas != null) {
+            if (!additionalItems && length > itemSchemas.size() && !result.hasReachedLimit()) {
+                result.addFailure(new ValidationException(this, String.format(
+                        "expected: [%d] array items, found: [%d]",
+                        itemSchemas.size(), length), "items"));
+            }
+            int itemValidationUntil = Math.min(length, itemSchemas.size());
+            for (int i = 0; i < itemValidationUntil && !result.hasReachedLimit(); ++i) {
+                itemSchemas.get(i).validate(subject.get(i), result.forChild(String.valueOf(i)));
+            }
+            if (schemaOfAdditionalItems != null) {
+                collectItemFailures(itemValidationUntil, length, subject, schemaOfAdditionalItems, result);
+            }
+        }
+    }
+
+    private void collectItemFailures(final int startInclusive, final int endExclusive, final JSONArray items,
+            final Schema schema, final ValidationResult result) throws JSONException {
+        for (int i = startInclusive; i < endExclusive && !result.hasReachedLimit(); ++i) {
+            schema.validate(items.get(i), result.forChild(String.valueOf(i)));
+        }
+    }
+
+    @Override
+    public void accept(final SchemaVisitor visitor) {
+        visitor.visitArraySchema(this);
+    }
+
+    @Override
+    public boolean isValid(final Object subject) {
+        if (getClass() != ArraySchema.class) {
+            return super.isValid(subject);
+        }
+        if (!(subject instanceof JSONArray)) {
+            return !requiresArray;
+        }
+        JSONArray arrSubject = (JSONArray) subject;
+        int actualLength = arrSubject.length();
+        if (minItems != null && actualLength < minItems) {
+            return false;
+        }
+        if (maxItems != null && maxItems < actualLength) {
+            return false;
+        }
+        try {
+            return (!uniqueItems || hasUniqueItems(arrSubject)) && itemsAreValid(arrSubject);
+        } catch (JSONException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
     @Override
     void describePropertiesTo(final JSONPrinter writer) throws JSONException {
         if (requiresArray) {
@@ -350,6 +509,7 @@ public class ArraySchema extends Schema {
                 && (allItemSchema != null ? allItemSchema.equals(that.allItemSchema) : that.allItemSchema == null)
                 && (itemSchemas != null ? itemSchemas.equals(that.itemSchemas) : that.itemSchemas == null)
                 && (schemaOfAdditionalItems != null ? schemaOfAdditionalItems.equals(that.schemaOfAdditionalItems) : that.schemaOfAdditionalItems == null)
+                && (parallelItemValidator != null ? parallelItemValidator.equals(that.parallelItemValidator) : that.parallelItemValidator == null)
                 && super.equals(o);
     }
 
@@ -364,6 +524,7 @@ public class ArraySchema extends Schema {
         result = 31 * result + (itemSchemas != null ? itemSchemas.hashCode() : 0);
         result = 31 * result + (requiresArray ? 1 : 0);
         result = 31 * result + (schemaOfAdditionalItems != null ? schemaOfAdditionalItems.hashCode() : 0);
+        result = 31 * result + (parallelItemValidator != null ? parallelItemValidator.hashCode() : 0);
         return result;
     }
 
@@ -52,6 +52,19 @@ public class BooleanSchema extends Schema {
         }
     }
 
+    @Override
+    public void accept(final SchemaVisitor visitor) {
+        visitor.visitBooleanSchema(this);
+    }
+
+    @Override
+    public boolean isValid(final Object subject) {
+        if (getClass() != BooleanSchema.class) {
+            return super.isValid(subject);
+        }
+        return subject instanceof Boolean;
+    }
+
     @Override
     void describePropertiesTo(final JSONPrinter writer) throws JSONException {
         writer.key("type");
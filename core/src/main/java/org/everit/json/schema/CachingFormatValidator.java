@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
+
+/**
+ * Decorator memoizing the results of a format validator, useful if the validated values repeat often
+ * (like the hostnames or the URI bases in a large document) and the validation is expensive.
+ * <p>
+ * The results are kept in a bounded, concurrent cache keyed by the validated value, which evicts the
+ * least recently used values when it grows beyond its maximum size. Only the validity of the values is
+ * cached, failure messages are rendered by the decorated validator when they are needed. The decorated
+ * validator must therefore be deterministic.
+ * <p>
+ * Instances can be registered with
+ * {@link org.everit.json.schema.loader.SchemaLoader.SchemaLoaderBuilder#addFormatValidator(FormatValidator)},
+ * or created by
+ * {@link org.everit.json.schema.loader.SchemaLoader.SchemaLoaderBuilder#addFormatValidator(FormatValidator, int)}.
+ * The effectiveness of the cache can be checked with {@link #getCacheStats()}.
+ */
+public class CachingFormatValidator extends AbstractCharSequenceFormatValidator {
+
+    private final FormatValidator formatValidator;
+
+    private final CharSequenceFormatValidator adaptedValidator;
+
+    private final Cache<String, Boolean> cache;
+
+    /**
+     * Constructor.
+     *
+     * @param formatValidator the format validator to be decorated
+     * @param maximumSize     the maximum number of cached values
+     */
+    public CachingFormatValidator(final FormatValidator formatValidator, final int maximumSize) {
+        this.formatValidator = requireNonNull(formatValidator, "formatValidator cannot be null");
+        this.adaptedValidator = adapt(formatValidator);
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize cannot be negative, found: " + maximumSize);
+        }
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public boolean isValid(final CharSequence subject) {
+        String key = subject.toString();
+        Boolean cached = cache.getIfPresent(key);
+        if (cached == null) {
+            cached = adaptedValidator.isValid(key);
+            cache.put(key, cached);
+        }
+        return cached;
+    }
+
+    @Override
+    public String failureMessage(final CharSequence subject) {
+        return adaptedValidator.failureMessage(subject);
+    }
+
+    @Override
+    public String formatName() {
+        return formatValidator.formatName();
+    }
+
+    /**
+     * @return the statistics of the cache, including its hit rate
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return the decorated format validator
+     */
+    public FormatValidator getFormatValidator() {
+        return formatValidator;
+    }
+}
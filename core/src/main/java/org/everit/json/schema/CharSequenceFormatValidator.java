@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+/**
+ * Format validator checking {@link CharSequence} subjects, without creating a failure message unless it is
+ * needed.
+ * <p>
+ * {@link StringSchema#isValid(Object)} and {@link CompiledSchema} only call {@link #isValid(CharSequence)}
+ * on such validators, and {@link #failureMessage(CharSequence)} is only called if a validation failure is
+ * reported. Since the subject is a {@code CharSequence}, implementations can also check parts of strings or
+ * buffers (for example using {@link java.nio.CharBuffer#wrap(char[], int, int)}) without copying them.
+ * <p>
+ * Implementations should extend {@link AbstractCharSequenceFormatValidator}, which implements
+ * {@link FormatValidator#validate(String)} in terms of the above methods.
+ */
+public interface CharSequenceFormatValidator extends FormatValidator {
+
+    /**
+     * Checks if {@code subject} conforms to the format.
+     *
+     * @param subject the character sequence to be validated, not {@code null}
+     * @return {@code true} if {@code subject} is valid
+     */
+    boolean isValid(CharSequence subject);
+
+    /**
+     * Renders the failure message for an invalid {@code subject}.
+     *
+     * @param subject the character sequence which was found invalid by {@link #isValid(CharSequence)}, or
+     *                {@code null}
+     * @return a programmer-friendly error message
+     */
+    String failureMessage(CharSequence subject);
+}
@@ -15,15 +15,14 @@
  */
 package org.everit.json.schema;
 
-import com.google.common.base.Function;
 import com.google.common.base.Predicate;
-import com.google.common.base.Predicates;
 import com.google.common.collect.FluentIterable;
 
 import org.everit.json.schema.internal.JSONPrinter;
 import org.json.JSONException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -32,6 +31,20 @@ import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
 
 /**
  * Validator for {@code allOf}, {@code oneOf}, {@code anyOf} schemas.
+ * <p>
+ * With the built-in criteria {@link #isValid(Object)} only evaluates the subschemas until the result is
+ * decided: {@code allOf} stops at the first non-matching subschema, {@code anyOf} at the first matching
+ * one, and {@code oneOf} at the second matching one. {@link #validate(Object)} evaluates each subschema
+ * once, so that the thrown {@link ValidationException} reports the exact number of matching subschemas,
+ * but by default only the first non-matching subschema is validated again to create the causing
+ * exception. The failures of every non-matching subschema are reported if the schema is built with
+ * {@link Builder#detailedFailures(boolean) detailedFailures(true)}.
+ * <p>
+ * The subschemas of {@code anyOf} and {@code oneOf} schemas are indexed by their discriminator
+ * property (a required property whose schema is an {@code enum}, see {@link DiscriminatorIndex}) at
+ * the first validation, and only the subschemas whose discriminator value matches the property of
+ * the subject are evaluated. The causing exceptions of a failure are also created by these subschemas
+ * only. The subschemas must not be modified after the first validation.
  */
 public class CombinedSchema extends Schema {
 
@@ -121,6 +134,8 @@ public class CombinedSchema extends Schema {
 
         private Collection<Schema> subschemas = new ArrayList<>();
 
+        private boolean detailedFailures = false;
+
         @Override
         public CombinedSchema build() {
             return new CombinedSchema(this);
@@ -141,10 +156,30 @@ public class CombinedSchema extends Schema {
             return this;
         }
 
+        /**
+         * Sets if the failures of every non-matching subschema should be reported as causing
+         * exceptions, instead of only the failure of the first one. Defaults to {@code false}.
+         *
+         * @param detailedFailures {@code true} to report the failure of every non-matching subschema
+         * @return {@code this}
+         */
+        public Builder detailedFailures(final boolean detailedFailures) {
+            this.detailedFailures = detailedFailures;
+            return this;
+        }
+
     }
 
     private final Collection<Schema> subschemas;
     private final ValidationCriterion criterion;
+    private final boolean detailedFailures;
+
+    /**
+     * Built at the first validation instead of in the constructor or by the loader: the subschemas (and
+     * their property schemas) may be {@link ReferenceSchema}s which the loader only resolves after this
+     * schema is built, and the discriminators can only be found behind resolved references.
+     */
+    private volatile DiscriminatorIndex discriminatorIndex;
 
     /**
      * Constructor.
@@ -155,6 +190,7 @@ public class CombinedSchema extends Schema {
         super(builder);
         this.criterion = requireNonNull(builder.criterion, "criterion cannot be null");
         this.subschemas = requireNonNull(builder.subschemas, "subschemas cannot be null");
+        this.detailedFailures = builder.detailedFailures;
     }
 
     public static Builder allOf(final Collection<Schema> schemas) {
@@ -185,6 +221,10 @@ public class CombinedSchema extends Schema {
         return subschemas;
     }
 
+    public boolean isDetailedFailures() {
+        return detailedFailures;
+    }
+
     private ValidationException getFailure(final Schema schema, final Object subject) {
         try {
             schema.validate(subject);
@@ -194,21 +234,99 @@ public class CombinedSchema extends Schema {
         }
     }
 
+    DiscriminatorIndex discriminatorIndex() {
+        DiscriminatorIndex index = discriminatorIndex;
+        if (index == null) {
+            index = DiscriminatorIndex.analyze(subschemas);
+            discriminatorIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Checks if the criterion holds, evaluating the subschemas only until the result is decided. The
+     * built-in criteria are checked directly (the {@code anyOf} and {@code oneOf} criteria only on the
+     * candidates of the {@link #discriminatorIndex()}), custom {@link ValidationCriterion} implementations are
+     * invoked with the count of every matching subschema, and their exception is caught.
+     */
+    private boolean matches(final Object subject) {
+        if (criterion == ALL_CRITERION) {
+            for (Schema subschema : subschemas) {
+                if (!subschema.isValid(subject)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (criterion == ANY_CRITERION) {
+            for (Schema subschema : discriminatorIndex().candidatesOf(subject)) {
+                if (subschema.isValid(subject)) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (criterion == ONE_CRITERION) {
+            int matchingCount = 0;
+            for (Schema subschema : discriminatorIndex().candidatesOf(subject)) {
+                if (subschema.isValid(subject) && ++matchingCount > 1) {
+                    return false;
+                }
+            }
+            return matchingCount == 1;
+        }
+        int matchingCount = 0;
+        for (Schema subschema : subschemas) {
+            if (subschema.isValid(subject)) {
+                ++matchingCount;
+            }
+        }
+        try {
+            criterion.validate(subschemas.size(), matchingCount);
+            return true;
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Evaluates every subschema once (except that {@code anyOf} returns at the first match), counting the
+     * matching ones exactly for the message of the criterion. Only the first non-matching subschema is
+     * validated again to create the causing exception, or every subschema with {@code detailedFailures}.
+     */
     @Override
     public void validate(final Object subject) {
-        List<ValidationException> failures = FluentIterable.from(subschemas)
-                .transform(new Function<Schema, ValidationException>() {
-                    @Override
-                    public ValidationException apply(Schema schema) {
-                        return getFailure(schema, subject);
-                    }
-                })
-                .filter(Predicates.<ValidationException>notNull())
-                .toList();
-        int matchingCount = subschemas.size() - failures.size();
+        Collection<Schema> evaluated = subschemas;
+        if (criterion == ANY_CRITERION || criterion == ONE_CRITERION) {
+            evaluated = Arrays.asList(discriminatorIndex().candidatesOf(subject));
+        }
+        Schema firstFailure = null;
+        int matchingCount = 0;
+        for (Schema subschema : evaluated) {
+            if (subschema.isValid(subject)) {
+                if (criterion == ANY_CRITERION) {
+                    return;
+                }
+                ++matchingCount;
+            } else if (firstFailure == null) {
+                firstFailure = subschema;
+            }
+        }
         try {
             criterion.validate(subschemas.size(), matchingCount);
         } catch (ValidationException e) {
+            List<ValidationException> failures = new ArrayList<>();
+            if (detailedFailures) {
+                for (Schema subschema : evaluated) {
+                    ValidationException failure = getFailure(subschema, subject);
+                    if (failure != null) {
+                        failures.add(failure);
+                    }
+                }
+            } else if (firstFailure != null) {
+                ValidationException failure = getFailure(firstFailure, subject);
+                if (failure != null) {
+                    failures.add(failure);
+                }
+            }
             throw new ValidationException(this,
                     new StringBuilder(e.getPointerToViolation()),
                     e.getMessage(),
@@ -217,6 +335,19 @@ public class CombinedSchema extends Schema {
         }
     }
 
+    @Override
+    public void accept(final SchemaVisitor visitor) {
+        visitor.visitCombinedSchema(this);
+    }
+
+    @Override
+    public boolean isValid(final Object subject) {
+        if (getClass() != CombinedSchema.class) {
+            return super.isValid(subject);
+        }
+        return matches(subject);
+    }
+
     @Override
     public boolean definesProperty(final String field) {
         int matching = FluentIterable.from(subschemas)
@@ -244,6 +375,7 @@ public class CombinedSchema extends Schema {
         return that.canEqual(this)
                 && (subschemas != null ? subschemas.equals(that.subschemas) : that.subschemas == null)
                 && (criterion != null ? criterion.equals(that.criterion) : that.criterion == null)
+                && detailedFailures == that.detailedFailures
                 && super.equals(that);
     }
 
@@ -262,6 +394,7 @@ public class CombinedSchema extends Schema {
         int result = super.hashCode();
         result = 31 * result + (subschemas != null ? subschemas.hashCode() : 0);
         result = 31 * result + (criterion != null ? criterion.hashCode() : 0);
+        result = 31 * result + (detailedFailures ? 1 : 0);
         return result;
     }
 
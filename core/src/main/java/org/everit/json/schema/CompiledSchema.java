@@ -0,0 +1,374 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import org.everit.json.schema.regexp.Regexp;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
+
+/**
+ * A {@link Schema} graph compiled into a flat, immutable instruction program.
+ * <p>
+ * Instances are created by {@link #compile(Schema)}, and they can be used to validate any number of
+ * subjects, also concurrently. {@link #isValid(Object)} returns the same result as
+ * {@link Schema#isValid(Object)} of the compiled schema, but it doesn't walk the schema objects:
+ * every schema is translated into a record of the {@code int[]} program, and the interpreter only
+ * reads the program and its constant pools. {@link ReferenceSchema}s are resolved at compile time,
+ * therefore the referred schemas are shared (and recursive schemas are supported).
+ * <p>
+ * Schema instances of unknown types (including subclasses of the built-in schema classes) are not
+ * compiled, their {@link Schema#isValid(Object)} method is called by the interpreter.
+ * <p>
+ * The schema graph must not be modified after compilation.
+ */
+public final class CompiledSchema {
+
+    static final int OP_EMPTY = 0;
+
+    static final int OP_BOOLEAN = 1;
+
+    static final int OP_NULL = 2;
+
+    static final int OP_STRING = 3;
+
+    static final int OP_NUMBER = 4;
+
+    static final int OP_ENUM = 5;
+
+    static final int OP_NOT = 6;
+
+    static final int OP_ALL_OF = 7;
+
+    static final int OP_ANY_OF = 8;
+
+    static final int OP_ONE_OF = 9;
+
+    static final int OP_ARRAY = 10;
+
+    static final int OP_OBJECT = 11;
+
+    static final int OP_CALL = 12;
+
+    static final int NUMBER_REQUIRED = 1;
+
+    static final int NUMBER_INTEGER = 2;
+
+    static final int ARRAY_REQUIRED = 1;
+
+    static final int ARRAY_UNIQUE_ITEMS = 2;
+
+    static final int ARRAY_NO_ADDITIONAL_ITEMS = 4;
+
+    static final int OBJECT_REQUIRED = 1;
+
+    static final int OBJECT_NO_ADDITIONAL_PROPERTIES = 2;
+
+    /**
+     * Marks absent operands (missing limits, subschemas or constants).
+     */
+    static final int NONE = -1;
+
+    /**
+     * Compiles {@code schema} into an instruction program.
+     *
+     * @param schema the schema to be compiled. All {@link ReferenceSchema} instances reachable from it
+     *               must already be resolved.
+     * @return the compiled schema
+     */
+    public static CompiledSchema compile(final Schema schema) {
+        return new SchemaCompiler().compile(requireNonNull(schema, "schema cannot be null"));
+    }
+
+    private final Schema schema;
+
+    private final int[] code;
+
+    private final int[] entries;
+
+    private final Object[] constants;
+
+    CompiledSchema(final Schema schema, final int[] code, final int[] entries, final Object[] constants) {
+        this.schema = schema;
+        this.code = code;
+        this.entries = entries;
+        this.constants = constants;
+    }
+
+    /**
+     * @return the schema which has been compiled
+     */
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return the number of distinct schema nodes of the program
+     */
+    public int getNodeCount() {
+        return entries.length;
+    }
+
+    /**
+     * Checks if {@code subject} is valid against the compiled schema.
+     *
+     * @param subject the object to be validated
+     * @return {@code true} if the {@code subject} is valid
+     */
+    public boolean isValid(final Object subject) {
+        try {
+            return run(0, subject);
+        } catch (JSONException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private boolean run(final int node, final Object subject) throws JSONException {
+        final int[] code = this.code;
+        int pc = entries[node];
+        switch (code[pc]) {
+            case OP_EMPTY:
+                return true;
+            case OP_BOOLEAN:
+                return subject instanceof Boolean;
+            case OP_NULL:
+                return subject == null || subject == JSONObject.NULL;
+            case OP_STRING:
+                return runString(pc, subject);
+            case OP_NUMBER:
+                return runNumber(pc, subject);
+            case OP_ENUM:
+                return ((EnumSchema) constants[code[pc + 1]]).isValid(subject);
+            case OP_NOT:
+                return !run(code[pc + 1], subject);
+            case OP_ALL_OF: {
+                int end = pc + 2 + code[pc + 1];
+                for (int i = pc + 2; i < end; ++i) {
+                    if (!run(code[i], subject)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case OP_ANY_OF: {
+                int end = pc + 2 + code[pc + 1];
+                for (int i = pc + 2; i < end; ++i) {
+                    if (run(code[i], subject)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            case OP_ONE_OF: {
+                int end = pc + 2 + code[pc + 1];
+                int matchingCount = 0;
+                for (int i = pc + 2; i < end; ++i) {
+                    if (run(code[i], subject) && ++matchingCount > 1) {
+                        return false;
+                    }
+                }
+                return matchingCount == 1;
+            }
+            case OP_ARRAY:
+                return runArray(pc, subject);
+            case OP_OBJECT:
+                return runObject(pc, subject);
+            case OP_CALL:
+                return ((Schema) constants[code[pc + 1]]).isValid(subject);
+            default:
+                throw new IllegalStateException("unknown opcode " + code[pc] + " at " + pc);
+        }
+    }
+
+    /**
+     * Record layout: {@code [OP_STRING, requiresString, minLength, maxLength, pattern, format]}.
+     */
+    private boolean runString(final int pc, final Object subject) {
+        if (!(subject instanceof String)) {
+            return code[pc + 1] == 0;
+        }
+        String stringSubject = (String) subject;
+        int minLength = code[pc + 2];
+        int maxLength = code[pc + 3];
+        if (minLength != NONE || maxLength != NONE) {
+            int actualLength = stringSubject.codePointCount(0, stringSubject.length());
+            if ((minLength != NONE && actualLength < minLength)
+                    || (maxLength != NONE && actualLength > maxLength)) {
+                return false;
+            }
+        }
+        int pattern = code[pc + 4];
+        if (pattern != NONE && !((Regexp) constants[pattern]).find(stringSubject)) {
+            return false;
+        }
+        int format = code[pc + 5];
+        return format == NONE || ((CharSequenceFormatValidator) constants[format]).isValid(stringSubject);
+    }
+
+    /**
+     * Record layout: {@code [OP_NUMBER, flags, limits]}, where {@code limits} is the index of a
+     * {@link NumberLimits} constant, or {@link #NONE} if the schema has no limits.
+     */
+    private boolean runNumber(final int pc, final Object subject) {
+        int flags = code[pc + 1];
+        if (!(subject instanceof Number)) {
+            return (flags & NUMBER_REQUIRED) == 0;
+        }
+        if ((flags & NUMBER_INTEGER) != 0 && !(subject instanceof Integer || subject instanceof Long)) {
+            return false;
+        }
+        int limits = code[pc + 2];
+        return limits == NONE || ((NumberLimits) constants[limits]).isValid((Number) subject);
+    }
+
+    /**
+     * Record layout: {@code [OP_ARRAY, flags, minItems, maxItems, allItemSchema, additionalItemSchema,
+     * tupleSize, tupleSchema...]}, where {@code tupleSize} is {@link #NONE} if the schema doesn't use
+     * tuple validation.
+     */
+    private boolean runArray(final int pc, final Object subject) throws JSONException {
+        int flags = code[pc + 1];
+        if (!(subject instanceof JSONArray)) {
+            return (flags & ARRAY_REQUIRED) == 0;
+        }
+        JSONArray array = (JSONArray) subject;
+        int length = array.length();
+        int minItems = code[pc + 2];
+        int maxItems = code[pc + 3];
+        if ((minItems != NONE && length < minItems) || (maxItems != NONE && maxItems < length)) {
+            return false;
+        }
+        if ((flags & ARRAY_UNIQUE_ITEMS) != 0 && !ArraySchema.hasUniqueItems(array)) {
+            return false;
+        }
+        int allItemSchema = code[pc + 4];
+        if (allItemSchema != NONE) {
+            for (int i = 0; i < length; ++i) {
+                if (!run(allItemSchema, array.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        int tupleSize = code[pc + 6];
+        if (tupleSize == NONE) {
+            return true;
+        }
+        if ((flags & ARRAY_NO_ADDITIONAL_ITEMS) != 0 && length > tupleSize) {
+            return false;
+        }
+        int validateUntil = Math.min(length, tupleSize);
+        for (int i = 0; i < validateUntil; ++i) {
+            if (!run(code[pc + 7 + i], array.get(i))) {
+                return false;
+            }
+        }
+        int additionalItemSchema = code[pc + 5];
+        if (additionalItemSchema != NONE) {
+            for (int i = validateUntil; i < length; ++i) {
+                if (!run(additionalItemSchema, array.get(i))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record layout: {@code [OP_OBJECT, flags, minProperties, maxProperties, additionalPropertySchema,
+     * propertySchemas, requiredCount, requiredName..., patternCount, (pattern, schema)...,
+     * propertyDependencyCount, (name, dependencyCount, dependencyName...)...,
+     * schemaDependencyCount, (name, schema)...]}. {@code propertySchemas} is the index of a
+     * {@code Map<String, Integer>} constant, mapping the declared property names to their schema
+     * nodes.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean runObject(int pc, final Object subject) throws JSONException {
+        final int[] code = this.code;
+        final Object[] constants = this.constants;
+        int flags = code[pc + 1];
+        if (!(subject instanceof JSONObject)) {
+            return (flags & OBJECT_REQUIRED) == 0;
+        }
+        JSONObject object = (JSONObject) subject;
+        int size = object.length();
+        int minProperties = code[pc + 2];
+        int maxProperties = code[pc + 3];
+        if ((minProperties != NONE && size < minProperties) || (maxProperties != NONE && size > maxProperties)) {
+            return false;
+        }
+        int additionalPropertySchema = code[pc + 4];
+        Map<String, Integer> propertySchemas = (Map<String, Integer>) constants[code[pc + 5]];
+        pc += 6;
+        int requiredEnd = pc + 1 + code[pc];
+        for (++pc; pc < requiredEnd; ++pc) {
+            if (!object.has((String) constants[code[pc]])) {
+                return false;
+            }
+        }
+        int patternStart = pc + 1;
+        int patternEnd = patternStart + 2 * code[pc];
+        Iterator<?> keys = object.keys();
+        while (keys.hasNext()) {
+            String name = (String) keys.next();
+            Object value = object.get(name);
+            Integer propertySchema = propertySchemas.get(name);
+            if (propertySchema != null && !run(propertySchema, value)) {
+                return false;
+            }
+            boolean matchesPattern = false;
+            for (int i = patternStart; i < patternEnd; i += 2) {
+                if (((Regexp) constants[code[i]]).find(name)) {
+                    matchesPattern = true;
+                    if (!run(code[i + 1], value)) {
+                        return false;
+                    }
+                }
+            }
+            if (propertySchema == null && !matchesPattern) {
+                if ((flags & OBJECT_NO_ADDITIONAL_PROPERTIES) != 0) {
+                    return false;
+                } else if (additionalPropertySchema != NONE && !run(additionalPropertySchema, value)) {
+                    return false;
+                }
+            }
+        }
+        pc = patternEnd;
+        int propertyDependencyCount = code[pc++];
+        for (int i = 0; i < propertyDependencyCount; ++i) {
+            boolean present = object.has((String) constants[code[pc]]);
+            int dependencyEnd = pc + 2 + code[pc + 1];
+            for (pc += 2; pc < dependencyEnd; ++pc) {
+                if (present && !object.has((String) constants[code[pc]])) {
+                    return false;
+                }
+            }
+        }
+        int schemaDependencyEnd = pc + 1 + 2 * code[pc];
+        for (++pc; pc < schemaDependencyEnd; pc += 2) {
+            if (object.has((String) constants[code[pc]]) && !run(code[pc + 1], subject)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
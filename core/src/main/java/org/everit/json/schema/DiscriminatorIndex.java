@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the subschemas of an {@code anyOf} or {@code oneOf} schema by the value of a discriminator
+ * property of the subject.
+ * <p>
+ * A property is a discriminator of an {@link ObjectSchema} subschema if it is a required property
+ * and its property schema is an {@link EnumSchema} (possibly behind {@link ReferenceSchema}s or
+ * inside an {@code allOf} schema). Such a subschema can only match a {@code JSONObject} subject if
+ * the subject has the property with one of the possible values of the enum, therefore the other
+ * subschemas don't have to be evaluated. The property which discriminates the most subschemas is
+ * selected. Subschemas not discriminated by the selected property are candidates for every subject,
+ * and subjects which aren't {@code JSONObject}s are checked against every subschema.
+ * <p>
+ * The subschemas are analyzed when the index is created, so it should be created after the
+ * {@link ReferenceSchema}s of the schema graph have been resolved.
+ */
+final class DiscriminatorIndex {
+
+    /**
+     * Maximum length of a {@link ReferenceSchema} chain followed during the analysis.
+     */
+    private static final int MAX_REFERENCE_DEPTH = 16;
+
+    static DiscriminatorIndex analyze(final Collection<Schema> subschemas) {
+        Schema[] all = subschemas.toArray(new Schema[subschemas.size()]);
+        List<Map<String, Set<Object>>> discriminators = new ArrayList<>(all.length);
+        Map<String, Integer> discriminatedCounts = new HashMap<>();
+        for (Schema subschema : all) {
+            Map<String, Set<Object>> subschemaDiscriminators = discriminatorsOf(subschema);
+            discriminators.add(subschemaDiscriminators);
+            for (String propertyName : subschemaDiscriminators.keySet()) {
+                Integer count = discriminatedCounts.get(propertyName);
+                discriminatedCounts.put(propertyName, count == null ? 1 : count + 1);
+            }
+        }
+        String propertyName = null;
+        int maxCount = 1;
+        for (Map.Entry<String, Integer> entry : discriminatedCounts.entrySet()) {
+            if (entry.getValue() > maxCount
+                    || (entry.getValue() == maxCount && propertyName != null
+                    && entry.getKey().compareTo(propertyName) < 0)) {
+                propertyName = entry.getKey();
+                maxCount = entry.getValue();
+            }
+        }
+        if (propertyName == null) {
+            return new DiscriminatorIndex(all, null, null, null);
+        }
+        try {
+            return build(all, discriminators, propertyName);
+        } catch (JSONException e) {
+            return new DiscriminatorIndex(all, null, null, null);
+        }
+    }
+
+    private static DiscriminatorIndex build(final Schema[] all,
+            final List<Map<String, Set<Object>>> discriminators, final String propertyName)
+            throws JSONException {
+        List<Schema> undiscriminated = new ArrayList<>();
+        Map<StructuralKey, List<Schema>> candidatesByValue = new HashMap<>();
+        for (int i = 0; i < all.length; ++i) {
+            Set<Object> possibleValues = discriminators.get(i).get(propertyName);
+            if (possibleValues == null) {
+                undiscriminated.add(all[i]);
+                for (List<Schema> candidates : candidatesByValue.values()) {
+                    candidates.add(all[i]);
+                }
+                continue;
+            }
+            Set<StructuralKey> keys = new HashSet<>();
+            for (Object value : possibleValues) {
+                keys.add(new StructuralKey(value));
+            }
+            for (StructuralKey key : keys) {
+                List<Schema> candidates = candidatesByValue.get(key);
+                if (candidates == null) {
+                    candidates = new ArrayList<>(undiscriminated);
+                    candidatesByValue.put(key, candidates);
+                }
+                candidates.add(all[i]);
+            }
+        }
+        Map<StructuralKey, Schema[]> index = new HashMap<>(candidatesByValue.size() * 4 / 3 + 1);
+        for (Map.Entry<StructuralKey, List<Schema>> entry : candidatesByValue.entrySet()) {
+            index.put(entry.getKey(), toArray(entry.getValue()));
+        }
+        return new DiscriminatorIndex(all, propertyName, index, toArray(undiscriminated));
+    }
+
+    private static Schema[] toArray(final List<Schema> schemas) {
+        return schemas.toArray(new Schema[schemas.size()]);
+    }
+
+    private static Schema dereference(Schema schema) {
+        for (int i = 0; i < MAX_REFERENCE_DEPTH && schema != null && schema.getClass() == ReferenceSchema.class;
+             ++i) {
+            schema = ((ReferenceSchema) schema).getReferredSchema();
+        }
+        return schema;
+    }
+
+    /**
+     * Returns the discriminator properties of {@code subschema}, mapped to the possible values of the
+     * property.
+     */
+    private static Map<String, Set<Object>> discriminatorsOf(final Schema subschema) {
+        Schema schema = dereference(subschema);
+        if (schema == null || schema.getClass() != ObjectSchema.class) {
+            return new HashMap<>();
+        }
+        ObjectSchema objectSchema = (ObjectSchema) schema;
+        Map<String, Set<Object>> discriminators = new HashMap<>();
+        for (String propertyName : objectSchema.getRequiredProperties()) {
+            Set<Object> possibleValues = possibleValuesOf(objectSchema.getPropertySchemas().get(propertyName), 0);
+            if (possibleValues != null) {
+                discriminators.put(propertyName, possibleValues);
+            }
+        }
+        return discriminators;
+    }
+
+    private static Set<Object> possibleValuesOf(final Schema propertySchema, final int depth) {
+        Schema schema = dereference(propertySchema);
+        if (schema == null) {
+            return null;
+        } else if (schema.getClass() == EnumSchema.class) {
+            return ((EnumSchema) schema).getPossibleValues();
+        } else if (schema.getClass() == CombinedSchema.class && depth < MAX_REFERENCE_DEPTH
+                && ((CombinedSchema) schema).getCriterion() == CombinedSchema.ALL_CRITERION) {
+            for (Schema subschema : ((CombinedSchema) schema).getSubschemas()) {
+                Set<Object> possibleValues = possibleValuesOf(subschema, depth + 1);
+                if (possibleValues != null) {
+                    return possibleValues;
+                }
+            }
+        }
+        return null;
+    }
+
+    private final Schema[] subschemas;
+
+    private final String propertyName;
+
+    private final Map<StructuralKey, Schema[]> candidatesByValue;
+
+    private final Schema[] undiscriminated;
+
+    private DiscriminatorIndex(final Schema[] subschemas, final String propertyName,
+            final Map<StructuralKey, Schema[]> candidatesByValue, final Schema[] undiscriminated) {
+        this.subschemas = subschemas;
+        this.propertyName = propertyName;
+        this.candidatesByValue = candidatesByValue;
+        this.undiscriminated = undiscriminated;
+    }
+
+    /**
+     * Returns the name of the selected discriminator property, or {@code null} if none of the
+     * subschemas is discriminated.
+     */
+    String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * Returns the subschemas which may match {@code subject}: every subschema which is not listed is
+     * known to fail.
+     *
+     * @param subject the validated object
+     * @return the candidate subschemas, in their original order
+     */
+    Schema[] candidatesOf(final Object subject) {
+        if (propertyName == null || !(subject instanceof JSONObject)) {
+            return subschemas;
+        }
+        Object value = ((JSONObject) subject).opt(propertyName);
+        if (value == null) {
+            return undiscriminated;
+        }
+        Schema[] candidates;
+        try {
+            candidates = candidatesByValue.get(new StructuralKey(value));
+        } catch (JSONException e) {
+            return subschemas;
+        }
+        return candidates != null ? candidates : undiscriminated;
+    }
+}
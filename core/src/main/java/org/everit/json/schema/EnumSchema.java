@@ -16,7 +16,9 @@
 package org.everit.json.schema;
 
 import org.everit.json.schema.internal.JSONPrinter;
+import org.json.JSONArray;
 import org.json.JSONException;
+import org.json.JSONObject;
 
 import java.util.Collections;
 import java.util.HashSet;
@@ -24,6 +26,13 @@ import java.util.Set;
 
 /**
  * Enum schema validator.
+ * <p>
+ * The possible values are indexed at construction time, so {@link #isValid(Object)} is a hash lookup
+ * instead of a linear scan: scalar values are looked up by their own {@code equals()} and
+ * {@code hashCode()} (numbers in their normalized form, so {@code 1} and {@code 1.0} match the same
+ * way as with {@link ObjectComparator#deepEquals(Object, Object)}), and {@code JSONObject} and
+ * {@code JSONArray} values by their {@link StructuralKey}. The
+ * possible values must not be modified after the schema is built.
  */
 public class EnumSchema extends Schema {
 
@@ -52,9 +61,38 @@ public class EnumSchema extends Schema {
 
     private final Set<Object> possibleValues;
 
+    private final Set<Object> scalarValues = new HashSet<>();
+
+    private final Set<StructuralKey> structuredValues = new HashSet<>();
+
+    private final boolean nullIsPossible;
+
     public EnumSchema(final Builder builder) {
         super(builder);
         possibleValues = Collections.unmodifiableSet(new HashSet<>(builder.possibleValues));
+        boolean nullValue = false;
+        for (Object value : possibleValues) {
+            if (value == null) {
+                nullValue = true;
+            } else if (isStructured(value)) {
+                structuredValues.add(structuralKey(value));
+            } else {
+                scalarValues.add(ObjectComparator.normalize(value));
+            }
+        }
+        nullIsPossible = nullValue;
+    }
+
+    private static boolean isStructured(final Object value) {
+        return value instanceof JSONObject || value instanceof JSONArray;
+    }
+
+    private static StructuralKey structuralKey(final Object value) {
+        try {
+            return new StructuralKey(value);
+        } catch (JSONException e) {
+            throw new IllegalArgumentException(e);
+        }
     }
 
     public static Builder builder() {
@@ -67,17 +105,38 @@ public class EnumSchema extends Schema {
 
     @Override
     public void validate(final Object subject) {
-        for (Object val : possibleValues) {
+        if (!containsValue(subject)) {
+            throw new ValidationException(this, String.format("%s is not a valid enum value", subject), "enum");
+        }
+    }
+
+    @Override
+    public void accept(final SchemaVisitor visitor) {
+        visitor.visitEnumSchema(this);
+    }
+
+    @Override
+    public boolean isValid(final Object subject) {
+        if (getClass() != EnumSchema.class) {
+            return super.isValid(subject);
+        }
+        return containsValue(subject);
+    }
+
+    private boolean containsValue(final Object subject) {
+        if (subject == null) {
+            return nullIsPossible;
+        } else if (isStructured(subject)) {
+            if (structuredValues.isEmpty()) {
+                return false;
+            }
             try {
-                if (ObjectComparator.deepEquals(val, subject)) {
-                    //found one
-                    return;
-                }
+                return structuredValues.contains(new StructuralKey(subject));
             } catch (JSONException e) {
-                e.printStackTrace();
+                return false;
             }
         }
-        throw new ValidationException(this, String.format("%s is not a valid enum value", subject), "enum");
+        return scalarValues.contains(ObjectComparator.normalize(subject));
     }
 
     @Override
@@ -10,7 +10,17 @@ public interface FormatValidator {
     /**
      * No-operation implementation (never throws {always returns {@link Optional#absent()}).
      */
-    FormatValidator NONE = new AbstractFormatValidator() {
+    FormatValidator NONE = new AbstractCharSequenceFormatValidator() {
+        @Override
+        public boolean isValid(CharSequence subject) {
+            return true;
+        }
+
+        @Override
+        public String failureMessage(CharSequence subject) {
+            return "[" + subject + "] is valid";
+        }
+
         @Override
         public Optional<String> validate(String subject) {
             return Optional.absent();
@@ -61,14 +61,23 @@ public class NotSchema extends Schema {
 
     @Override
     public void validate(final Object subject) {
-        try {
-            mustNotMatch.validate(subject);
-        } catch (ValidationException e) {
-            e.printStackTrace();
-            return;
+        if (mustNotMatch.isValid(subject)) {
+            throw new ValidationException(this, "subject must not be valid against schema " + mustNotMatch,
+                    "not");
         }
-        throw new ValidationException(this, "subject must not be valid against schema " + mustNotMatch,
-                "not");
+    }
+
+    @Override
+    public void accept(final SchemaVisitor visitor) {
+        visitor.visitNotSchema(this);
+    }
+
+    @Override
+    public boolean isValid(final Object subject) {
+        if (getClass() != NotSchema.class) {
+            return super.isValid(subject);
+        }
+        return !mustNotMatch.isValid(subject);
     }
 
     @Override
@@ -53,6 +53,19 @@ public class NullSchema extends Schema {
         }
     }
 
+    @Override
+    public void accept(final SchemaVisitor visitor) {
+        visitor.visitNullSchema(this);
+    }
+
+    @Override
+    public boolean isValid(final Object subject) {
+        if (getClass() != NullSchema.class) {
+            return super.isValid(subject);
+        }
+        return subject == null || subject == JSONObject.NULL;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
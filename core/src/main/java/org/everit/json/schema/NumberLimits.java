@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * The {@code minimum}, {@code maximum} and {@code multipleOf} limits of a {@link NumberSchema}, precomputed
+ * into the forms needed by the type-specialized checks.
+ * <p>
+ * The checks compare the subject in its own type, so no precision is lost:
+ * <ul>
+ * <li>{@link Integer}, {@link Long}, {@link Short} and {@link Byte} subjects are compared as {@code long}s
+ * against the lowest and highest {@code long} within the limits, and divided by {@code multipleOf} as
+ * {@code long}s if it is integral</li>
+ * <li>{@link Double} and {@link Float} subjects are compared as {@code double}s against the limits which are
+ * exactly representable as {@code double}, and otherwise as {@link BigDecimal}s</li>
+ * <li>{@link BigDecimal} and {@link BigInteger} subjects are compared as {@link BigDecimal}s</li>
+ * </ul>
+ * Doubles are converted to {@link BigDecimal} by {@link BigDecimal#valueOf(double)}, i.e. by their shortest
+ * decimal representation, so that decimal {@code multipleOf} values (like {@code 0.01}) work as expected.
+ */
+final class NumberLimits {
+
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    /**
+     * Up to this magnitude every integral {@code double} is exactly representable, and is also its own
+     * shortest decimal representation.
+     */
+    private static final double MAX_EXACT_INTEGRAL_DOUBLE = 1L << 53;
+
+    private static boolean isLongValued(final Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short
+                || number instanceof Byte;
+    }
+
+    private static boolean isDecimalValued(final Number number) {
+        return number instanceof BigDecimal || number instanceof BigInteger;
+    }
+
+    private static BigDecimal toDecimal(final Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        } else if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        } else if (isLongValued(number)) {
+            return BigDecimal.valueOf(number.longValue());
+        }
+        return BigDecimal.valueOf(number.doubleValue());
+    }
+
+    private static BigDecimal checkFinite(final Number limit, final String name) {
+        if (limit == null) {
+            return null;
+        }
+        double value = limit.doubleValue();
+        if (!isDecimalValued(limit) && (Double.isNaN(value) || Double.isInfinite(value))) {
+            throw new IllegalArgumentException(name + " must be finite, found: " + limit);
+        }
+        return toDecimal(limit);
+    }
+
+    private static boolean isExactDouble(final Number limit, final BigDecimal decimal) {
+        return limit == null
+                || !(isLongValued(limit) || isDecimalValued(limit))
+                || new BigDecimal(limit.doubleValue()).compareTo(decimal) == 0;
+    }
+
+    private final Number minimum;
+
+    private final Number maximum;
+
+    private final Number multipleOf;
+
+    private final boolean exclusiveMinimum;
+
+    private final boolean exclusiveMaximum;
+
+    private final BigDecimal minimumDecimal;
+
+    private final BigDecimal maximumDecimal;
+
+    private final BigDecimal multipleOfDecimal;
+
+    private final double minimumDouble;
+
+    private final double maximumDouble;
+
+    private final boolean minimumIsExactDouble;
+
+    private final boolean maximumIsExactDouble;
+
+    /**
+     * The lowest {@code long} above the minimum, valid if {@link #minimumAboveLongRange} is not set.
+     */
+    private final long lowestLong;
+
+    private final boolean minimumAboveLongRange;
+
+    /**
+     * The highest {@code long} below the maximum, valid if {@link #maximumBelowLongRange} is not set.
+     */
+    private final long highestLong;
+
+    private final boolean maximumBelowLongRange;
+
+    /**
+     * {@code multipleOf} as a {@code long} if it is integral and within the range of {@code long}, otherwise
+     * {@code 0}.
+     */
+    private final long multipleOfLong;
+
+    NumberLimits(final Number minimum, final boolean exclusiveMinimum, final Number maximum,
+            final boolean exclusiveMaximum, final Number multipleOf) {
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.multipleOf = multipleOf;
+        this.exclusiveMinimum = exclusiveMinimum;
+        this.exclusiveMaximum = exclusiveMaximum;
+        this.minimumDecimal = checkFinite(minimum, "minimum");
+        this.maximumDecimal = checkFinite(maximum, "maximum");
+        this.multipleOfDecimal = checkFinite(multipleOf, "multipleOf");
+        this.minimumDouble = minimum == null ? 0 : minimum.doubleValue();
+        this.maximumDouble = maximum == null ? 0 : maximum.doubleValue();
+        this.minimumIsExactDouble = isExactDouble(minimum, minimumDecimal);
+        this.maximumIsExactDouble = isExactDouble(maximum, maximumDecimal);
+        if (minimumDecimal == null) {
+            this.lowestLong = Long.MIN_VALUE;
+            this.minimumAboveLongRange = false;
+        } else {
+            BigDecimal lowest = exclusiveMinimum
+                    ? minimumDecimal.setScale(0, RoundingMode.FLOOR).add(BigDecimal.ONE)
+                    : minimumDecimal.setScale(0, RoundingMode.CEILING);
+            this.minimumAboveLongRange = lowest.compareTo(LONG_MAX) > 0;
+            this.lowestLong = lowest.max(LONG_MIN).min(LONG_MAX).longValue();
+        }
+        if (maximumDecimal == null) {
+            this.highestLong = Long.MAX_VALUE;
+            this.maximumBelowLongRange = false;
+        } else {
+            BigDecimal highest = exclusiveMaximum
+                    ? maximumDecimal.setScale(0, RoundingMode.CEILING).subtract(BigDecimal.ONE)
+                    : maximumDecimal.setScale(0, RoundingMode.FLOOR);
+            this.maximumBelowLongRange = highest.compareTo(LONG_MIN) < 0;
+            this.highestLong = highest.max(LONG_MIN).min(LONG_MAX).longValue();
+        }
+        long integralMultipleOf = 0;
+        if (multipleOfDecimal != null && multipleOfDecimal.signum() != 0) {
+            try {
+                integralMultipleOf = multipleOfDecimal.longValueExact();
+            } catch (ArithmeticException e) {
+                // not integral or out of the range of long, checked as BigDecimal
+            }
+        }
+        this.multipleOfLong = integralMultipleOf;
+    }
+
+    boolean isBelowMinimum(final Number subject) {
+        if (minimum == null) {
+            return false;
+        } else if (isLongValued(subject)) {
+            return minimumAboveLongRange || subject.longValue() < lowestLong;
+        }
+        int comparison;
+        if (isDecimalValued(subject)) {
+            comparison = toDecimal(subject).compareTo(minimumDecimal);
+        } else {
+            double value = subject.doubleValue();
+            if (minimumIsExactDouble || Double.isNaN(value) || Double.isInfinite(value)) {
+                return exclusiveMinimum ? value <= minimumDouble : value < minimumDouble;
+            }
+            comparison = BigDecimal.valueOf(value).compareTo(minimumDecimal);
+        }
+        return exclusiveMinimum ? comparison <= 0 : comparison < 0;
+    }
+
+    boolean isAboveMaximum(final Number subject) {
+        if (maximum == null) {
+            return false;
+        } else if (isLongValued(subject)) {
+            return maximumBelowLongRange || subject.longValue() > highestLong;
+        }
+        int comparison;
+        if (isDecimalValued(subject)) {
+            comparison = toDecimal(subject).compareTo(maximumDecimal);
+        } else {
+            double value = subject.doubleValue();
+            if (maximumIsExactDouble || Double.isNaN(value) || Double.isInfinite(value)) {
+                return exclusiveMaximum ? maximumDouble <= value : maximumDouble < value;
+            }
+            comparison = BigDecimal.valueOf(value).compareTo(maximumDecimal);
+        }
+        return exclusiveMaximum ? comparison >= 0 : comparison > 0;
+    }
+
+    boolean isMultipleOf(final Number subject) {
+        if (multipleOf == null) {
+            return true;
+        }
+        if (multipleOfLong != 0) {
+            if (isLongValued(subject)) {
+                return subject.longValue() % multipleOfLong == 0;
+            } else if (!isDecimalValued(subject)) {
+                double value = subject.doubleValue();
+                if (Math.abs(value) <= MAX_EXACT_INTEGRAL_DOUBLE) {
+                    // a finite non-integral value is never a multiple of an integer
+                    return value == Math.rint(value) && (long) value % multipleOfLong == 0;
+                }
+            }
+        }
+        return toDecimal(subject).remainder(multipleOfDecimal).signum() == 0;
+    }
+
+    boolean isValid(final Number subject) {
+        return !isBelowMinimum(subject) && !isAboveMaximum(subject) && isMultipleOf(subject);
+    }
+
+    Number getMinimum() {
+        return minimum;
+    }
+
+    Number getMaximum() {
+        return maximum;
+    }
+
+    Number getMultipleOf() {
+        return multipleOf;
+    }
+
+    boolean isExclusiveMinimum() {
+        return exclusiveMinimum;
+    }
+
+    boolean isExclusiveMaximum() {
+        return exclusiveMaximum;
+    }
+
+    /**
+     * @return {@code true} if none of the limits is set
+     */
+    boolean isEmpty() {
+        return minimum == null && maximum == null && multipleOf == null;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        NumberLimits that = (NumberLimits) o;
+        return exclusiveMinimum == that.exclusiveMinimum
+                && exclusiveMaximum == that.exclusiveMaximum
+                && (minimum != null ? minimum.equals(that.minimum) : that.minimum == null)
+                && (maximum != null ? maximum.equals(that.maximum) : that.maximum == null)
+                && (multipleOf != null ? multipleOf.equals(that.multipleOf) : that.multipleOf == null);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = minimum != null ? minimum.hashCode() : 0;
+        result = 31 * result + (maximum != null ? maximum.hashCode() : 0);
+        result = 31 * result + (multipleOf != null ? multipleOf.hashCode() : 0);
+        result = 31 * result + (exclusiveMinimum ? 1 : 0);
+        result = 31 * result + (exclusiveMaximum ? 1 : 0);
+        return result;
+    }
+}
@@ -18,10 +18,13 @@ package org.everit.json.schema;
 import org.everit.json.schema.internal.JSONPrinter;
 import org.json.JSONException;
 
-import java.math.BigDecimal;
-
 /**
  * Number schema validator.
+ * <p>
+ * The limits are checked without losing precision: integral subjects are compared as {@code long}s,
+ * {@link java.math.BigDecimal} and {@link java.math.BigInteger} subjects are compared exactly, and
+ * {@code double}s are only converted to {@code BigDecimal} if a limit can't be represented as a
+ * {@code double}, or for non-integral {@code multipleOf} checks.
  */
 public class NumberSchema extends Schema {
 
@@ -87,11 +90,7 @@ public class NumberSchema extends Schema {
     }
 
     private final boolean requiresNumber;
-    private final Number minimum;
-    private final Number maximum;
-    private final Number multipleOf;
-    private final boolean exclusiveMinimum;
-    private final boolean exclusiveMaximum;
+    private final NumberLimits limits;
     private final boolean requiresInteger;
 
     public NumberSchema() {
@@ -102,14 +101,12 @@ public class NumberSchema extends Schema {
      * Constructor.
      *
      * @param builder the builder object containing validation criteria
+     * @throws IllegalArgumentException if a limit is {@code NaN} or infinite
      */
     public NumberSchema(final Builder builder) {
         super(builder);
-        this.minimum = builder.minimum;
-        this.maximum = builder.maximum;
-        this.exclusiveMinimum = builder.exclusiveMinimum;
-        this.exclusiveMaximum = builder.exclusiveMaximum;
-        this.multipleOf = builder.multipleOf;
+        this.limits = new NumberLimits(builder.minimum, builder.exclusiveMinimum, builder.maximum,
+                builder.exclusiveMaximum, builder.multipleOf);
         this.requiresNumber = builder.requiresNumber;
         this.requiresInteger = builder.requiresInteger;
     }
@@ -118,65 +115,80 @@ public class NumberSchema extends Schema {
         return new Builder();
     }
 
-    private void checkMaximum(final double subject) {
-        if (maximum != null) {
-            if (exclusiveMaximum && maximum.doubleValue() <= subject) {
-                throw new ValidationException(this, subject + " is not lower than " + maximum,
-                        "exclusiveMaximum");
-            } else if (maximum.doubleValue() < subject) {
-                throw new ValidationException(this, subject + " is not lower or equal to " + maximum,
-                        "maximum");
-            }
+    /**
+     * Renders {@code subject} for the failure messages: floating point subjects are printed as a double,
+     * all other numbers in their own type, so that large integers and decimals are printed exactly.
+     */
+    private static String render(final Number subject) {
+        if (subject instanceof Double || subject instanceof Float) {
+            return String.valueOf(subject.doubleValue());
         }
+        return subject.toString();
     }
 
-    private void checkMinimum(final double subject) {
-        if (minimum != null) {
-            if (exclusiveMinimum && subject <= minimum.doubleValue()) {
-                throw new ValidationException(this, subject + " is not higher than " + minimum,
-                        "exclusiveMinimum");
-            } else if (subject < minimum.doubleValue()) {
-                throw new ValidationException(this, subject + " is not higher or equal to " + minimum,
-                        "minimum");
+    private void checkMaximum(final Number subject) {
+        if (limits.isAboveMaximum(subject)) {
+            if (limits.isExclusiveMaximum()) {
+                throw new ValidationException(this, render(subject) + " is not lower than "
+                        + limits.getMaximum(), "exclusiveMaximum");
+            } else {
+                throw new ValidationException(this, render(subject) + " is not lower or equal to "
+                        + limits.getMaximum(), "maximum");
             }
         }
     }
 
-    private void checkMultipleOf(final double subject) {
-        if (multipleOf != null) {
-            BigDecimal remainder = BigDecimal.valueOf(subject).remainder(
-                    BigDecimal.valueOf(multipleOf.doubleValue()));
-            if (remainder.compareTo(BigDecimal.ZERO) != 0) {
-                throw new ValidationException(this, subject + " is not a multiple of " + multipleOf,
-                        "multipleOf");
+    private void checkMinimum(final Number subject) {
+        if (limits.isBelowMinimum(subject)) {
+            if (limits.isExclusiveMinimum()) {
+                throw new ValidationException(this, render(subject) + " is not higher than "
+                        + limits.getMinimum(), "exclusiveMinimum");
+            } else {
+                throw new ValidationException(this, render(subject) + " is not higher or equal to "
+                        + limits.getMinimum(), "minimum");
             }
         }
     }
 
+    private void checkMultipleOf(final Number subject) {
+        if (!limits.isMultipleOf(subject)) {
+            throw new ValidationException(this, render(subject) + " is not a multiple of "
+                    + limits.getMultipleOf(), "multipleOf");
+        }
+    }
+
     public Number getMaximum() {
-        return maximum;
+        return limits.getMaximum();
     }
 
     public Number getMinimum() {
-        return minimum;
+        return limits.getMinimum();
     }
 
     public Number getMultipleOf() {
-        return multipleOf;
+        return limits.getMultipleOf();
     }
 
     public boolean isExclusiveMaximum() {
-        return exclusiveMaximum;
+        return limits.isExclusiveMaximum();
     }
 
     public boolean isExclusiveMinimum() {
-        return exclusiveMinimum;
+        return limits.isExclusiveMinimum();
+    }
+
+    NumberLimits getLimits() {
+        return limits;
     }
 
     public boolean requiresInteger() {
         return requiresInteger;
     }
 
+    public boolean requiresNumber() {
+        return requiresNumber;
+    }
+
     @Override
     public void validate(final Object subject) {
         if (!(subject instanceof Number)) {
@@ -187,11 +199,30 @@ public class NumberSchema extends Schema {
             if (!(subject instanceof Integer || subject instanceof Long) && requiresInteger) {
                 throw new ValidationException(this, Integer.class, subject, "type");
             }
-            double intSubject = ((Number) subject).doubleValue();
-            checkMinimum(intSubject);
-            checkMaximum(intSubject);
-            checkMultipleOf(intSubject);
+            Number numberSubject = (Number) subject;
+            checkMinimum(numberSubject);
+            checkMaximum(numberSubject);
+            checkMultipleOf(numberSubject);
+        }
+    }
+
+    @Override
+    public void accept(final SchemaVisitor visitor) {
+        visitor.visitNumberSchema(this);
+    }
+
+    @Override
+    public boolean isValid(final Object subject) {
+        if (getClass() != NumberSchema.class) {
+            return super.isValid(subject);
+        }
+        if (!(subject instanceof Number)) {
+            return !requiresNumber;
+        }
+        if (!(subject instanceof Integer || subject instanceof Long) && requiresInteger) {
+            return false;
         }
+        return limits.isValid((Number) subject);
     }
 
     @Override
@@ -201,11 +232,11 @@ public class NumberSchema extends Schema {
         } else if (requiresNumber) {
             writer.key("type").value("number");
         }
-        writer.ifPresent("minimum", minimum);
-        writer.ifPresent("maximum", maximum);
-        writer.ifPresent("multipleOf", multipleOf);
-        writer.ifTrue("exclusiveMinimum", exclusiveMinimum);
-        writer.ifTrue("exclusiveMaximum", exclusiveMaximum);
+        writer.ifPresent("minimum", limits.getMinimum());
+        writer.ifPresent("maximum", limits.getMaximum());
+        writer.ifPresent("multipleOf", limits.getMultipleOf());
+        writer.ifTrue("exclusiveMinimum", limits.isExclusiveMinimum());
+        writer.ifTrue("exclusiveMaximum", limits.isExclusiveMaximum());
     }
 
     @Override
@@ -216,12 +247,8 @@ public class NumberSchema extends Schema {
         NumberSchema that = (NumberSchema) o;
         return that.canEqual(this)
                 && requiresNumber == that.requiresNumber
-                && exclusiveMinimum == that.exclusiveMinimum
-                && exclusiveMaximum == that.exclusiveMaximum
                 && requiresInteger == that.requiresInteger
-                && (minimum != null ? minimum.equals(that.minimum) : that.minimum == null)
-                && (maximum != null ? maximum.equals(that.maximum) : that.maximum == null)
-                && (multipleOf != null ? multipleOf.equals(that.multipleOf) : that.multipleOf == null)
+                && (limits != null ? limits.equals(that.limits) : that.limits == null)
                 && super.equals(that);
     }
 
@@ -229,11 +256,7 @@ public class NumberSchema extends Schema {
     public int hashCode() {
         int result = super.hashCode();
         result = 31 * result + (requiresNumber ? 1 : 0);
-        result = 31 * result + (minimum != null ? minimum.hashCode() : 0);
-        result = 31 * result + (maximum != null ? maximum.hashCode() : 0);
-        result = 31 * result + (multipleOf != null ? multipleOf.hashCode() : 0);
-        result = 31 * result + (exclusiveMinimum ? 1 : 0);
-        result = 31 * result + (exclusiveMaximum ? 1 : 0);
+        result = 31 * result + (limits != null ? limits.hashCode() : 0);
         result = 31 * result + (requiresInteger ? 1 : 0);
         return result;
     }
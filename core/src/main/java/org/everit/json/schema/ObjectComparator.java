@@ -19,16 +19,94 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.util.Arrays;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Iterator;
 
 /**
  * Deep-equals implementation on primitive wrappers, {@link JSONObject} and {@link JSONArray}.
+ * <p>
+ * Numbers are compared by their value instead of their type, so for example {@code 1} (as an
+ * {@code Integer}), {@code 1L} and {@code 1.0} are all equal.
  */
 public final class ObjectComparator {
 
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private static final double LONG_RANGE_END = 0x1p63;
+
+    private static final Long ZERO = 0L;
+
     private ObjectComparator() {
     }
 
+    private static boolean isLongValued(final Object number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short
+                || number instanceof Byte;
+    }
+
+    /**
+     * Returns the canonical form of a number, which is equal to the canonical form of every other
+     * number with the same value: a {@code Long} for integral values within the range of {@code long},
+     * otherwise a {@code Double} if the value is the decimal representation of a {@code double},
+     * otherwise a {@code BigDecimal} without trailing zeros. Number types not known by this class, and
+     * values which are not numbers, are returned unchanged.
+     *
+     * @param value the value to be normalized, may be {@code null}
+     * @return the canonical form of {@code value}
+     */
+    static Object normalize(final Object value) {
+        if (isLongValued(value)) {
+            return value instanceof Long ? value : Long.valueOf(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            return normalizeDouble((Number) value);
+        } else if (value instanceof BigInteger) {
+            BigInteger integer = (BigInteger) value;
+            return integer.bitLength() < Long.SIZE
+                    ? Long.valueOf(integer.longValue())
+                    : normalizeDecimal(new BigDecimal(integer));
+        } else if (value instanceof BigDecimal) {
+            return normalizeDecimal((BigDecimal) value);
+        }
+        return value;
+    }
+
+    private static Object normalizeDouble(final Number number) {
+        double value = number.doubleValue();
+        if (value == Math.rint(value) && value >= -LONG_RANGE_END && value < LONG_RANGE_END) {
+            return Long.valueOf((long) value);
+        }
+        return number instanceof Double ? number : Double.valueOf(value);
+    }
+
+    private static Object normalizeDecimal(final BigDecimal decimal) {
+        if (decimal.signum() == 0) {
+            return ZERO;
+        }
+        BigDecimal stripped = decimal.stripTrailingZeros();
+        if (stripped.scale() <= 0 && stripped.compareTo(LONG_MIN) >= 0 && stripped.compareTo(LONG_MAX) <= 0) {
+            return Long.valueOf(stripped.longValue());
+        }
+        double value = decimal.doubleValue();
+        if (!Double.isInfinite(value) && BigDecimal.valueOf(value).compareTo(decimal) == 0) {
+            return Double.valueOf(value);
+        }
+        return stripped;
+    }
+
+    private static boolean numbersEqual(final Object number1, final Object number2) {
+        if (isLongValued(number1) && isLongValued(number2)) {
+            return ((Number) number1).longValue() == ((Number) number2).longValue();
+        } else if (number1 instanceof Double && number2 instanceof Double) {
+            double value1 = (Double) number1;
+            double value2 = (Double) number2;
+            return value1 == value2 || (Double.isNaN(value1) && Double.isNaN(value2));
+        }
+        return normalize(number1).equals(normalize(number2));
+    }
+
     /**
      * Deep-equals implementation on primitive wrappers, {@link JSONObject} and {@link JSONArray}.
      *
@@ -46,9 +124,45 @@ public final class ObjectComparator {
         if (obj1 instanceof JSONObject) {
             return obj2 instanceof JSONObject && deepEqualObjects((JSONObject) obj1, (JSONObject) obj2);
         }
+        if (obj1 instanceof Number && obj2 instanceof Number) {
+            return numbersEqual(obj1, obj2);
+        }
         return obj1 != null && obj2 != null && obj1.equals(obj2);
     }
 
+    /**
+     * Hash code implementation consistent with {@link #deepEquals(Object, Object)}: if two objects are
+     * deep-equal, then their deep hash codes are equal too. The hash code of a {@link JSONObject} does
+     * not depend on the iteration order of its keys.
+     *
+     * @param obj the object to be hashed, may be {@code null}
+     * @return the hash code
+     */
+    public static int deepHashCode(final Object obj) throws JSONException {
+        if (obj == null) {
+            return 0;
+        }
+        if (obj instanceof JSONArray) {
+            JSONArray arr = (JSONArray) obj;
+            int hash = 1;
+            for (int i = 0; i < arr.length(); ++i) {
+                hash = 31 * hash + deepHashCode(arr.get(i));
+            }
+            return hash;
+        }
+        if (obj instanceof JSONObject) {
+            JSONObject jsonObj = (JSONObject) obj;
+            int hash = 0;
+            Iterator<?> keys = jsonObj.keys();
+            while (keys.hasNext()) {
+                String key = (String) keys.next();
+                hash += key.hashCode() ^ deepHashCode(jsonObj.get(key));
+            }
+            return hash;
+        }
+        return normalize(obj).hashCode();
+    }
+
     private static boolean deepEqualArrays(final JSONArray arr1, final JSONArray arr2) throws JSONException {
         if (arr1.length() != arr2.length()) {
             return false;
@@ -61,25 +175,15 @@ public final class ObjectComparator {
         return true;
     }
 
-    private static String[] sortedNamesOf(final JSONObject obj) {
-        String[] raw = JSONObjectUtils.getNames(obj);
-        if (raw == null) {
-            return null;
-        }
-        Arrays.sort(raw, String.CASE_INSENSITIVE_ORDER);
-        return raw;
-    }
-
     private static boolean deepEqualObjects(final JSONObject jsonObj1, final JSONObject jsonObj2) throws JSONException {
-        String[] obj1Names = sortedNamesOf(jsonObj1);
-        if (!Arrays.equals(obj1Names, sortedNamesOf(jsonObj2))) {
+        if (jsonObj1.length() != jsonObj2.length()) {
             return false;
         }
-        if (obj1Names == null) {
-            return true;
-        }
-        for (String name : obj1Names) {
-            if (!deepEquals(jsonObj1.get(name), jsonObj2.get(name))) {
+        Iterator<?> keys = jsonObj1.keys();
+        while (keys.hasNext()) {
+            String key = (String) keys.next();
+            Object value2 = jsonObj2.opt(key);
+            if (value2 == null || !deepEquals(jsonObj1.get(key), value2)) {
                 return false;
             }
         }
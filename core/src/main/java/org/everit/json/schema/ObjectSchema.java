@@ -18,17 +18,26 @@ package org.everit.json.schema;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
 import org.everit.json.schema.internal.JSONPrinter;
+import org.everit.json.schema.regexp.JavaUtilRegexpFactory;
+import org.everit.json.schema.regexp.Regexp;
+import org.everit.json.schema.regexp.RegexpFactory;
 import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -60,6 +69,8 @@ public class ObjectSchema extends Schema {
         private Schema schemaOfAdditionalProperties;
         private Integer minProperties;
         private Integer maxProperties;
+        private int keyClassificationCacheSize = DEFAULT_KEY_CLASSIFICATION_CACHE_SIZE;
+        private RegexpFactory regexpFactory = JavaUtilRegexpFactory.INSTANCE;
 
         public Builder additionalProperties(final boolean additionalProperties) {
             this.additionalProperties = additionalProperties;
@@ -110,6 +121,19 @@ public class ObjectSchema extends Schema {
             return patternProperty(Pattern.compile(pattern), schema);
         }
 
+        /**
+         * Sets the regex engine used to execute the {@code patternProperties} of the schema. Defaults to
+         * {@link JavaUtilRegexpFactory}. Patterns with flags are always executed by {@link Pattern}.
+         *
+         * @param regexpFactory the regex engine
+         * @return {@code this}
+         * @see org.everit.json.schema.regexp.LinearRegexpFactory
+         */
+        public Builder regexpFactory(final RegexpFactory regexpFactory) {
+            this.regexpFactory = requireNonNull(regexpFactory, "regexpFactory cannot be null");
+            return this;
+        }
+
         /**
          * Adds a property dependency.
          *
@@ -144,6 +168,50 @@ public class ObjectSchema extends Schema {
             return this;
         }
 
+        /**
+         * Sets the maximum number of property names whose matching {@code patternProperties} are cached
+         * by the built schema. The cache is only used if the schema has {@code patternProperties}, and
+         * the least recently used names are evicted if the limit is reached.
+         *
+         * @param keyClassificationCacheSize the maximum number of cached property names, {@code 0}
+         *                                   disables the cache
+         * @return {@code this}
+         */
+        public Builder keyClassificationCacheSize(final int keyClassificationCacheSize) {
+            if (keyClassificationCacheSize < 0) {
+                throw new IllegalArgumentException("keyClassificationCacheSize cannot be negative, found: "
+                        + keyClassificationCacheSize);
+            }
+            this.keyClassificationCacheSize = keyClassificationCacheSize;
+            return this;
+        }
+
+    }
+
+    /**
+     * The default value of {@link Builder#keyClassificationCacheSize(int)}.
+     */
+    public static final int DEFAULT_KEY_CLASSIFICATION_CACHE_SIZE = 1024;
+
+    private static final CacheStats EMPTY_CACHE_STATS = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    /**
+     * Everything this schema declares about a given property name, so that the keys of the subject
+     * can be validated in a single pass, with one lookup per key.
+     */
+    private static final class PropertyInfo {
+
+        private Schema schema;
+
+        /**
+         * The index of the property among the distinct required properties, or {@code -1} if it is not
+         * required.
+         */
+        private int requiredIndex = -1;
+
+        private Set<String> dependencies = Collections.emptySet();
+
+        private Schema schemaDependency;
     }
 
     private final Map<String, Schema> propertySchemas;
@@ -156,6 +224,16 @@ public class ObjectSchema extends Schema {
     private final Map<String, Schema> schemaDependencies;
     private final boolean requiresObject;
     private final Map<Pattern, Schema> patternProperties;
+    private final Map<String, PropertyInfo> propertyIndex;
+    private final int requiredPropertyCount;
+    private final PatternPropertyMatcher patternMatcher;
+    private final Schema[] patternSchemas;
+
+    /**
+     * Maps property names to the (ascending) indexes of the matching {@link #patternSchemas}, or
+     * {@code null} if the cache is disabled.
+     */
+    private final Cache<String, int[]> keyClassificationCache;
 
     /**
      * Constructor.
@@ -180,6 +258,48 @@ public class ObjectSchema extends Schema {
         this.schemaDependencies = copyMap(builder.schemaDependencies);
         this.requiresObject = builder.requiresObject;
         this.patternProperties = copyMap(builder.patternProperties);
+        this.propertyIndex = new HashMap<>();
+        int requiredIndex = 0;
+        for (Entry<String, Schema> entry : propertySchemas.entrySet()) {
+            propertyInfo(entry.getKey()).schema = entry.getValue();
+        }
+        for (String requiredProperty : requiredProperties) {
+            PropertyInfo info = propertyInfo(requiredProperty);
+            if (info.requiredIndex == -1) {
+                info.requiredIndex = requiredIndex++;
+            }
+        }
+        this.requiredPropertyCount = requiredIndex;
+        for (Entry<String, Set<String>> entry : propertyDependencies.entrySet()) {
+            propertyInfo(entry.getKey()).dependencies = entry.getValue();
+        }
+        for (Entry<String, Schema> entry : schemaDependencies.entrySet()) {
+            propertyInfo(entry.getKey()).schemaDependency = entry.getValue();
+        }
+        List<Pattern> patterns = new ArrayList<>(patternProperties.size());
+        this.patternSchemas = new Schema[patternProperties.size()];
+        for (Entry<Pattern, Schema> entry : patternProperties.entrySet()) {
+            patternSchemas[patterns.size()] = entry.getValue();
+            patterns.add(entry.getKey());
+        }
+        this.patternMatcher = new PatternPropertyMatcher(patterns, builder.regexpFactory);
+        if (patternSchemas.length == 0 || builder.keyClassificationCacheSize == 0) {
+            this.keyClassificationCache = null;
+        } else {
+            this.keyClassificationCache = CacheBuilder.newBuilder()
+                    .maximumSize(builder.keyClassificationCacheSize)
+                    .recordStats()
+                    .build();
+        }
+    }
+
+    private PropertyInfo propertyInfo(final String propertyName) {
+        PropertyInfo info = propertyIndex.get(propertyName);
+        if (info == null) {
+            info = new PropertyInfo();
+            propertyIndex.put(propertyName, info);
+        }
+        return info;
     }
 
     public static Builder builder() {
@@ -217,6 +337,14 @@ public class ObjectSchema extends Schema {
         return patternProperties;
     }
 
+    /**
+     * @return the compiled form of the {@code index}-th key of {@link #getPatternProperties()}, in
+     * iteration order
+     */
+    Regexp getPatternRegexp(final int index) {
+        return patternMatcher.regexp(index);
+    }
+
     public Map<String, Set<String>> getPropertyDependencies() {
         return propertyDependencies;
     }
@@ -247,14 +375,53 @@ public class ObjectSchema extends Schema {
     }
 
     private boolean matchesAnyPattern(final String key) {
-        return FluentIterable.from(patternProperties.keySet())
-                .firstMatch(new Predicate<Pattern>() {
-                    @Override
-                    public boolean apply(Pattern pattern) {
-                        return pattern.matcher(key).find();
-                    }
-                })
-                .isPresent();
+        if (keyClassificationCache == null) {
+            return patternMatcher.matchesAny(key);
+        }
+        return classifyKey(key).length > 0;
+    }
+
+    /**
+     * Collects the indexes of the {@code patternProperties} matching {@code key} into {@code matches},
+     * using the key classification cache if it is enabled.
+     *
+     * @return the number of matching patterns
+     */
+    private int findMatchingPatterns(final String key, final int[] matches) {
+        if (keyClassificationCache == null) {
+            return patternMatcher.findMatches(key, matches);
+        }
+        int[] classification = classifyKey(key);
+        System.arraycopy(classification, 0, matches, 0, classification.length);
+        return classification.length;
+    }
+
+    /**
+     * Returns the indexes of the {@code patternProperties} matching {@code key} from the key
+     * classification cache, matching and caching them on a miss.
+     */
+    private int[] classifyKey(final String key) {
+        int[] classification = keyClassificationCache.getIfPresent(key);
+        if (classification == null) {
+            int[] matches = new int[patternSchemas.length];
+            classification = Arrays.copyOf(matches, patternMatcher.findMatches(key, matches));
+            keyClassificationCache.put(key, classification);
+        }
+        return classification;
+    }
+
+    /**
+     * Returns the hit and miss counts of the cache of property name classifications. Property names
+     * are classified (by matching them against the {@code patternProperties}) once, then the result
+     * is cached. See {@link Builder#keyClassificationCacheSize(int)}.
+     *
+     * @return the cache statistics, all zeros if the cache is disabled
+     */
+    public CacheStats getKeyClassificationCacheStats() {
+        if (keyClassificationCache == null) {
+            return EMPTY_CACHE_STATS;
+        }
+        return keyClassificationCache.stats();
     }
 
     public boolean permitsAdditionalProperties() {
@@ -271,8 +438,7 @@ public class ObjectSchema extends Schema {
                     .transform(new Function<String, ValidationException>() {
                         @Override
                         public ValidationException apply(String unneeded) {
-                            return new ValidationException(ObjectSchema.this,
-                                    String.format("extraneous key [%s] is not permitted", unneeded), "additionalProperties");
+                            return extraneousKeyFailure(unneeded);
                         }
                     })
                     .toList();
@@ -300,10 +466,10 @@ public class ObjectSchema extends Schema {
             return Collections.emptyList();
         }
         List<ValidationException> rval = new ArrayList<>();
-        for (Entry<Pattern, Schema> entry : patternProperties.entrySet()) {
+        for (int i = 0; i < patternSchemas.length; ++i) {
             for (final String propName : propNames) {
-                if (entry.getKey().matcher(propName).find()) {
-                    rval.addAll(ifFails(entry.getValue(), subject.get(propName))
+                if (patternMatcher.matches(i, propName)) {
+                    rval.addAll(ifFails(patternSchemas[i], subject.get(propName))
                             .transform(new Function<ValidationException, ValidationException>() {
                                 @Override
                                 public ValidationException apply(ValidationException exc) {
@@ -361,8 +527,7 @@ public class ObjectSchema extends Schema {
                 .transform(new Function<String, ValidationException>() {
                     @Override
                     public ValidationException apply(String missingKey) {
-                        return new ValidationException(ObjectSchema.this,
-                                String.format("property [%s] is required", missingKey), "dependencies");
+                        return missingDependencyFailure(missingKey);
                     }
                 })
                 .toList();
@@ -379,8 +544,7 @@ public class ObjectSchema extends Schema {
                 .transform(new Function<String, ValidationException>() {
                     @Override
                     public ValidationException apply(String missingKey) {
-                        return new ValidationException(ObjectSchema.this,
-                                String.format("required key [%s] not found", missingKey), "required");
+                        return missingRequiredPropertyFailure(missingKey);
                     }
                 })
                 .toList();
@@ -398,18 +562,39 @@ public class ObjectSchema extends Schema {
     }
 
     private List<ValidationException> testSize(final JSONObject subject) {
+        ValidationException failure = sizeFailure(subject);
+        if (failure == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(failure);
+    }
+
+    private ValidationException sizeFailure(final JSONObject subject) {
         int actualSize = subject.length();
         if (minProperties != null && actualSize < minProperties) {
-            return Collections.singletonList(
-                    new ValidationException(this, String.format("minimum size: [%d], found: [%d]",
-                            minProperties, actualSize), "minProperties"));
+            return new ValidationException(this, String.format("minimum size: [%d], found: [%d]",
+                    minProperties, actualSize), "minProperties");
         }
         if (maxProperties != null && actualSize > maxProperties.intValue()) {
-            return Collections.singletonList(
-                    new ValidationException(this, String.format("maximum size: [%d], found: [%d]",
-                            maxProperties, actualSize), "maxProperties"));
+            return new ValidationException(this, String.format("maximum size: [%d], found: [%d]",
+                    maxProperties, actualSize), "maxProperties");
         }
-        return Collections.emptyList();
+        return null;
+    }
+
+    private ValidationException extraneousKeyFailure(final String key) {
+        return new ValidationException(this,
+                String.format("extraneous key [%s] is not permitted", key), "additionalProperties");
+    }
+
+    private ValidationException missingDependencyFailure(final String missingKey) {
+        return new ValidationException(this,
+                String.format("property [%s] is required", missingKey), "dependencies");
+    }
+
+    private ValidationException missingRequiredPropertyFailure(final String missingKey) {
+        return new ValidationException(this,
+                String.format("required key [%s] not found", missingKey), "required");
     }
 
     @Override
@@ -437,6 +622,159 @@ public class ObjectSchema extends Schema {
         }
     }
 
+    @Override
+    public void validate(final Object subject, final ValidationResult result) {
+        if (!(subject instanceof JSONObject)) {
+            if (requiresObject) {
+                result.addFailure(new ValidationException(this, JSONObject.class, subject));
+            }
+            return;
+        }
+        JSONObject objSubject = (JSONObject) subject;
+        try {
+            BitSet presentRequiredProperties = new BitSet(requiredPropertyCount);
+            collectKeyFailures(objSubject, presentRequiredProperties, result);
+            collectRequiredPropertyFailures(presentRequiredProperties, result);
+            ValidationException sizeFailure = sizeFailure(objSubject);
+            if (sizeFailure != null && !result.hasReachedLimit()) {
+                result.addFailure(sizeFailure);
+            }
+        } catch (JSONException e) {
+            e.printStackTrace();
+            result.addFailure(new ValidationException(this, JSONObject.class, subject));
+        }
+    }
+
+    private void collectKeyFailures(final JSONObject subject, final BitSet presentRequiredProperties,
+            final ValidationResult result) throws JSONException {
+        int[] matchingPatterns = new int[patternSchemas.length];
+        Iterator<?> keys = subject.keys();
+        while (keys.hasNext() && !result.hasReachedLimit()) {
+            String key = (String) keys.next();
+            Object value = subject.get(key);
+            PropertyInfo info = propertyIndex.get(key);
+            Schema propertySchema = null;
+            if (info != null) {
+                propertySchema = info.schema;
+                if (info.requiredIndex != -1) {
+                    presentRequiredProperties.set(info.requiredIndex);
+                }
+                if (propertySchema != null) {
+                    propertySchema.validate(value, result.forChild(key));
+                }
+                for (String mustBePresent : info.dependencies) {
+                    if (!subject.has(mustBePresent) && !result.hasReachedLimit()) {
+                        result.addFailure(missingDependencyFailure(mustBePresent));
+                    }
+                }
+                if (info.schemaDependency != null && !result.hasReachedLimit()) {
+                    info.schemaDependency.validate(subject, result);
+                }
+            }
+            int matchingPatternCount = findMatchingPatterns(key, matchingPatterns);
+            for (int i = 0; i < matchingPatternCount && !result.hasReachedLimit(); ++i) {
+                patternSchemas[matchingPatterns[i]].validate(value, result.forChild(key));
+            }
+            if (propertySchema == null && matchingPatternCount == 0 && !result.hasReachedLimit()) {
+                if (!additionalProperties) {
+                    result.addFailure(extraneousKeyFailure(key));
+                } else if (schemaOfAdditionalProperties != null) {
+                    schemaOfAdditionalProperties.validate(value, result.forChild(key, this));
+                }
+            }
+        }
+    }
+
+    private void collectRequiredPropertyFailures(final BitSet presentRequiredProperties,
+            final ValidationResult result) {
+        if (presentRequiredProperties.cardinality() == requiredPropertyCount) {
+            return;
+        }
+        for (String key : requiredProperties) {
+            if (result.hasReachedLimit()) {
+                return;
+            }
+            if (!presentRequiredProperties.get(propertyIndex.get(key).requiredIndex)) {
+                result.addFailure(missingRequiredPropertyFailure(key));
+            }
+        }
+    }
+
+    @Override
+    public void accept(final SchemaVisitor visitor) {
+        visitor.visitObjectSchema(this);
+    }
+
+    @Override
+    public boolean isValid(final Object subject) {
+        if (getClass() != ObjectSchema.class) {
+            return super.isValid(subject);
+        }
+        if (!(subject instanceof JSONObject)) {
+            return !requiresObject;
+        }
+        JSONObject objSubject = (JSONObject) subject;
+        int actualSize = objSubject.length();
+        if (minProperties != null && actualSize < minProperties) {
+            return false;
+        }
+        if (maxProperties != null && actualSize > maxProperties) {
+            return false;
+        }
+        if (actualSize < requiredPropertyCount) {
+            return false;
+        }
+        try {
+            return keysAreValid(objSubject);
+        } catch (JSONException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private boolean keysAreValid(final JSONObject subject) throws JSONException {
+        int presentRequiredPropertyCount = 0;
+        int[] matchingPatterns = new int[patternSchemas.length];
+        Iterator<?> keys = subject.keys();
+        while (keys.hasNext()) {
+            String key = (String) keys.next();
+            Object value = subject.get(key);
+            PropertyInfo info = propertyIndex.get(key);
+            Schema propertySchema = null;
+            if (info != null) {
+                propertySchema = info.schema;
+                if (info.requiredIndex != -1) {
+                    ++presentRequiredPropertyCount;
+                }
+                if (propertySchema != null && !propertySchema.isValid(value)) {
+                    return false;
+                }
+                for (String mustBePresent : info.dependencies) {
+                    if (!subject.has(mustBePresent)) {
+                        return false;
+                    }
+                }
+                if (info.schemaDependency != null && !info.schemaDependency.isValid(subject)) {
+                    return false;
+                }
+            }
+            int matchingPatternCount = findMatchingPatterns(key, matchingPatterns);
+            for (int i = 0; i < matchingPatternCount; ++i) {
+                if (!patternSchemas[matchingPatterns[i]].isValid(value)) {
+                    return false;
+                }
+            }
+            if (propertySchema == null && matchingPatternCount == 0) {
+                if (!additionalProperties) {
+                    return false;
+                } else if (schemaOfAdditionalProperties != null && !schemaOfAdditionalProperties.isValid(value)) {
+                    return false;
+                }
+            }
+        }
+        return presentRequiredPropertyCount == requiredPropertyCount;
+    }
+
     @Override
     public boolean definesProperty(String field) {
         field = field.replaceFirst("^#", "").replaceFirst("^/", "");
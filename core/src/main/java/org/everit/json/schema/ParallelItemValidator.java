@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
+
+/**
+ * Validates the items of an array against a schema in parallel, used by {@link ArraySchema} for large
+ * arrays if {@link ArraySchema.Builder#parallelItemValidation(Executor, int)} is configured.
+ * <p>
+ * The index range is split into chunks of {@code chunkSize} items, the chunks are submitted to the
+ * executor, and the failures are merged in index order, therefore the result is the same as the result
+ * of the sequential validation. The calling thread also runs the chunks which are not yet picked up by
+ * the executor, so nested parallel validations can't starve a bounded thread pool.
+ * <p>
+ * Schemas are safe for concurrent use once they are loaded: they are immutable, apart from the
+ * caches (like the key classification cache of {@link ObjectSchema}) which are concurrent.
+ */
+final class ParallelItemValidator {
+
+    private final Executor executor;
+
+    private final int chunkSize;
+
+    ParallelItemValidator(final Executor executor, final int chunkSize) {
+        this.executor = requireNonNull(executor, "executor cannot be null");
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("threshold must be positive, found: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return {@code true} if an array of {@code length} items should be validated in parallel
+     */
+    boolean appliesTo(final int length) {
+        return length > chunkSize;
+    }
+
+    List<ValidationException> validate(final JSONArray items, final Schema schema) throws JSONException {
+        List<FutureTask<List<ValidationException>>> tasks = new ArrayList<>();
+        int length = items.length();
+        for (int start = 0; start < length; start += chunkSize) {
+            final int startInclusive = start;
+            final int endExclusive = Math.min(length, start + chunkSize);
+            tasks.add(new FutureTask<>(new Callable<List<ValidationException>>() {
+                @Override
+                public List<ValidationException> call() throws Exception {
+                    List<ValidationException> failures = new ArrayList<>();
+                    for (int i = startInclusive; i < endExclusive; ++i) {
+                        try {
+                            schema.validate(items.get(i));
+                        } catch (ValidationException e) {
+                            failures.add(e.prepend(String.valueOf(i)));
+                        }
+                    }
+                    return failures;
+                }
+            }));
+        }
+        List<ValidationException> rval = new ArrayList<>();
+        for (List<ValidationException> chunkFailures : runAll(tasks)) {
+            rval.addAll(chunkFailures);
+        }
+        return rval;
+    }
+
+    boolean isValid(final JSONArray items, final Schema schema) throws JSONException {
+        final AtomicBoolean failed = new AtomicBoolean();
+        List<FutureTask<Void>> tasks = new ArrayList<>();
+        int length = items.length();
+        for (int start = 0; start < length; start += chunkSize) {
+            final int startInclusive = start;
+            final int endExclusive = Math.min(length, start + chunkSize);
+            tasks.add(new FutureTask<>(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (int i = startInclusive; i < endExclusive && !failed.get(); ++i) {
+                        if (!schema.isValid(items.get(i))) {
+                            failed.set(true);
+                        }
+                    }
+                    return null;
+                }
+            }));
+        }
+        runAll(tasks);
+        return !failed.get();
+    }
+
+    private <T> List<T> runAll(final List<FutureTask<T>> tasks) throws JSONException {
+        for (int i = 1; i < tasks.size(); ++i) {
+            try {
+                executor.execute(tasks.get(i));
+            } catch (RejectedExecutionException e) {
+                // the task will be run by the calling thread
+            }
+        }
+        List<T> results = new ArrayList<>(tasks.size());
+        for (FutureTask<T> task : tasks) {
+            // no-op if the task is already started by the executor
+            task.run();
+            results.add(getResult(task));
+        }
+        return results;
+    }
+
+    private static <T> T getResult(final FutureTask<T> task) throws JSONException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while validating array items", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else if (cause instanceof JSONException) {
+                throw (JSONException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ParallelItemValidator that = (ParallelItemValidator) o;
+        return chunkSize == that.chunkSize && executor.equals(that.executor);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * executor.hashCode() + chunkSize;
+    }
+}
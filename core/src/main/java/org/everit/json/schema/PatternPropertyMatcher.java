@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import org.everit.json.schema.regexp.JavaUtilRegexp;
+import org.everit.json.schema.regexp.JavaUtilRegexpFactory;
+import org.everit.json.schema.regexp.Regexp;
+import org.everit.json.schema.regexp.RegexpFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
+
+/**
+ * Matches property names against all {@code patternProperties} of an {@link ObjectSchema} at once.
+ * <p>
+ * Patterns starting with an anchored literal (like {@code "^x-"}) are indexed by their literal prefix
+ * in a trie, therefore a single scan of the property name finds every such pattern which may match.
+ * If the rest of the pattern is empty or {@code ".*"}, the prefix decides the match alone and the
+ * regex is never executed. Other patterns are only executed after their prefix is found, and patterns
+ * without literal prefix are executed for every property name. The patterns are executed by the
+ * {@link Regexp} compiled by the configured {@link RegexpFactory}.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+final class PatternPropertyMatcher {
+
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private static final String QUANTIFIERS = "?*+{";
+
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * Node of the literal prefix trie. Children are kept sorted by their label, so that lookups don't
+     * allocate. Nodes are only modified during the construction of the matcher.
+     */
+    private static final class TrieNode {
+
+        private char[] labels = new char[0];
+
+        private TrieNode[] children = new TrieNode[0];
+
+        /**
+         * Indexes of the patterns whose literal prefix ends at this node.
+         */
+        private int[] patterns = EMPTY;
+
+        private TrieNode child(final char label) {
+            int idx = Arrays.binarySearch(labels, label);
+            return idx < 0 ? null : children[idx];
+        }
+
+        private TrieNode getOrAddChild(final char label) {
+            int idx = Arrays.binarySearch(labels, label);
+            if (idx >= 0) {
+                return children[idx];
+            }
+            int insertAt = -idx - 1;
+            char[] newLabels = new char[labels.length + 1];
+            TrieNode[] newChildren = new TrieNode[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            TrieNode child = new TrieNode();
+            newChildren[insertAt] = child;
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        private void addPattern(final int patternIndex) {
+            patterns = Arrays.copyOf(patterns, patterns.length + 1);
+            patterns[patterns.length - 1] = patternIndex;
+        }
+    }
+
+    /**
+     * Only patterns anchored to the beginning of the input can be indexed. Alternations and flags
+     * (like {@link Pattern#CASE_INSENSITIVE}) are not analyzed.
+     */
+    private static boolean canBeIndexed(final Pattern pattern) {
+        String regex = pattern.pattern();
+        return pattern.flags() == 0 && regex.startsWith("^") && regex.indexOf('|') < 0;
+    }
+
+    /**
+     * Appends the mandatory literal prefix of {@code regex} (which starts with {@code ^}) to
+     * {@code literal}, and returns the position where the non-literal part of the regex begins. The
+     * prefix is a necessary condition of {@code Pattern.compile(regex).matcher(input).find()}.
+     */
+    private static int literalPrefixEnd(final String regex, final StringBuilder literal) {
+        int length = regex.length();
+        int i = 1;
+        while (i < length) {
+            char c = regex.charAt(i);
+            char literalChar;
+            int next;
+            if (c == '\\') {
+                if (i + 1 >= length || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                    break;
+                }
+                literalChar = regex.charAt(i + 1);
+                next = i + 2;
+            } else if (META_CHARACTERS.indexOf(c) >= 0) {
+                break;
+            } else {
+                literalChar = c;
+                next = i + 1;
+            }
+            if (next < length && QUANTIFIERS.indexOf(regex.charAt(next)) >= 0) {
+                break;
+            }
+            literal.append(literalChar);
+            i = next;
+        }
+        return i;
+    }
+
+    /**
+     * Compiles {@code pattern} with {@code regexpFactory}. Patterns with flags are always executed by
+     * {@link Pattern}, since the flags can't be passed to other engines, and patterns are not compiled
+     * again by {@link JavaUtilRegexpFactory}. Other factories may return an interned instance.
+     */
+    private static Regexp compile(final Pattern pattern, final RegexpFactory regexpFactory) {
+        if (pattern.flags() != 0 || regexpFactory instanceof JavaUtilRegexpFactory) {
+            return new JavaUtilRegexp(pattern);
+        }
+        return regexpFactory.compile(pattern.pattern());
+    }
+
+    private final Pattern[] patterns;
+
+    private final Regexp[] regexps;
+
+    private final String[] literalPrefixes;
+
+    /**
+     * {@code true} for the patterns which are matched by their literal prefix alone.
+     */
+    private final boolean[] prefixOnly;
+
+    private final TrieNode prefixIndex = new TrieNode();
+
+    /**
+     * Indexes of the patterns without literal prefix.
+     */
+    private final int[] unindexedPatterns;
+
+    PatternPropertyMatcher(final Collection<Pattern> patterns) {
+        this(patterns, JavaUtilRegexpFactory.INSTANCE);
+    }
+
+    PatternPropertyMatcher(final Collection<Pattern> patterns, final RegexpFactory regexpFactory) {
+        requireNonNull(patterns, "patterns cannot be null");
+        requireNonNull(regexpFactory, "regexpFactory cannot be null");
+        this.patterns = patterns.toArray(new Pattern[patterns.size()]);
+        this.regexps = new Regexp[this.patterns.length];
+        this.literalPrefixes = new String[this.patterns.length];
+        this.prefixOnly = new boolean[this.patterns.length];
+        List<Integer> unindexed = new ArrayList<>();
+        for (int i = 0; i < this.patterns.length; ++i) {
+            Pattern pattern = this.patterns[i];
+            regexps[i] = compile(pattern, regexpFactory);
+            StringBuilder literal = new StringBuilder();
+            int literalEnd = canBeIndexed(pattern) ? literalPrefixEnd(pattern.pattern(), literal) : 0;
+            if (literal.length() == 0) {
+                unindexed.add(i);
+                continue;
+            }
+            String prefix = literal.toString();
+            String rest = pattern.pattern().substring(literalEnd);
+            literalPrefixes[i] = prefix;
+            prefixOnly[i] = rest.isEmpty() || rest.equals(".*");
+            TrieNode node = prefixIndex;
+            for (int j = 0; j < prefix.length(); ++j) {
+                node = node.getOrAddChild(prefix.charAt(j));
+            }
+            node.addPattern(i);
+        }
+        this.unindexedPatterns = new int[unindexed.size()];
+        for (int i = 0; i < unindexedPatterns.length; ++i) {
+            unindexedPatterns[i] = unindexed.get(i);
+        }
+    }
+
+    /**
+     * @return the number of patterns
+     */
+    int size() {
+        return patterns.length;
+    }
+
+    /**
+     * @return the compiled pattern at {@code patternIndex}
+     */
+    Regexp regexp(final int patternIndex) {
+        return regexps[patternIndex];
+    }
+
+    /**
+     * Checks if the pattern at {@code patternIndex} matches (finds) {@code key}.
+     */
+    boolean matches(final int patternIndex, final String key) {
+        String prefix = literalPrefixes[patternIndex];
+        if (prefix != null) {
+            if (!key.startsWith(prefix)) {
+                return false;
+            }
+            if (prefixOnly[patternIndex]) {
+                return true;
+            }
+        }
+        return regexps[patternIndex].find(key);
+    }
+
+    private boolean matchesAfterPrefix(final int patternIndex, final String key) {
+        return prefixOnly[patternIndex] || regexps[patternIndex].find(key);
+    }
+
+    /**
+     * Checks if any of the patterns matches {@code key}.
+     */
+    boolean matchesAny(final String key) {
+        TrieNode node = prefixIndex;
+        for (int i = 0; i < key.length() && node != null; ++i) {
+            node = node.child(key.charAt(i));
+            if (node != null) {
+                for (int patternIndex : node.patterns) {
+                    if (matchesAfterPrefix(patternIndex, key)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        for (int patternIndex : unindexedPatterns) {
+            if (regexps[patternIndex].find(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the indexes of all patterns matching {@code key} into {@code matches}, in ascending
+     * order.
+     *
+     * @param key     the property name
+     * @param matches receives the matching pattern indexes, its length must be at least {@link #size()}
+     * @return the number of matching patterns
+     */
+    int findMatches(final String key, final int[] matches) {
+        int count = 0;
+        TrieNode node = prefixIndex;
+        for (int i = 0; i < key.length() && node != null; ++i) {
+            node = node.child(key.charAt(i));
+            if (node != null) {
+                for (int patternIndex : node.patterns) {
+                    if (matchesAfterPrefix(patternIndex, key)) {
+                        matches[count++] = patternIndex;
+                    }
+                }
+            }
+        }
+        for (int patternIndex : unindexedPatterns) {
+            if (regexps[patternIndex].find(key)) {
+                matches[count++] = patternIndex;
+            }
+        }
+        Arrays.sort(matches, 0, count);
+        return count;
+    }
+}
@@ -77,6 +77,30 @@ public class ReferenceSchema extends Schema {
         referredSchema.validate(subject);
     }
 
+    @Override
+    public void accept(final SchemaVisitor visitor) {
+        visitor.visitReferenceSchema(this);
+    }
+
+    @Override
+    public boolean isValid(final Object subject) {
+        if (getClass() != ReferenceSchema.class) {
+            return super.isValid(subject);
+        }
+        if (referredSchema == null) {
+            throw new IllegalStateException("referredSchema must be injected before validation");
+        }
+        return referredSchema.isValid(subject);
+    }
+
+    @Override
+    public void validate(final Object subject, final ValidationResult result) {
+        if (referredSchema == null) {
+            throw new IllegalStateException("referredSchema must be injected before validation");
+        }
+        referredSchema.validate(subject, result);
+    }
+
     @Override
     public boolean definesProperty(String field) {
         if (referredSchema == null) {
@@ -85,6 +85,67 @@ public abstract class Schema {
      */
     public abstract void validate(final Object subject);
 
+    /**
+     * Checks if {@code subject} is valid against this schema, without reporting the cause of the
+     * failure.
+     * <p>
+     * Unlike {@link #validate(Object)}, this method does not create any {@link ValidationException}
+     * instances, therefore it is considerably cheaper if only a yes/no answer is needed. It is also
+     * used internally by {@link CombinedSchema} and {@link NotSchema} to find out which subschemas
+     * match the subject.
+     * <p>
+     * The default implementation delegates to {@link #validate(Object)}, subclasses are supposed to
+     * override it with an exception-free implementation. The built-in schema classes fall back to the
+     * default implementation in their subclasses, so a subclass which only overrides
+     * {@link #validate(Object)} is still checked by its own {@code validate(Object)}.
+     *
+     * @param subject the object to be validated
+     * @return {@code true} if the {@code subject} is valid against this schema
+     */
+    public boolean isValid(final Object subject) {
+        try {
+            validate(subject);
+            return true;
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Performs the schema validation, reporting the failures to {@code result} instead of throwing
+     * them.
+     * <p>
+     * Schemas validating child elements of the subject (like {@link ObjectSchema} and
+     * {@link ArraySchema}) pass {@code result} down to their subschemas, and stop the validation
+     * once {@link ValidationResult#hasReachedLimit()} returns {@code true}.
+     * <p>
+     * The default implementation calls {@link #validate(Object)} and stores the thrown exception.
+     *
+     * @param subject the object to be validated
+     * @param result  the collector receiving the validation failures
+     */
+    public void validate(final Object subject, final ValidationResult result) {
+        try {
+            validate(subject);
+        } catch (ValidationException e) {
+            result.addFailure(e);
+        }
+    }
+
+    /**
+     * Calls the {@code visitXxxSchema()} method of {@code visitor} belonging to the type of this schema.
+     * The default implementation calls {@link SchemaVisitor#visitSchema(Schema)}, which is the case for
+     * schema types unknown by the visitor.
+     * <p>
+     * This method only visits this schema instance, {@link SchemaTraversal} can be used to visit the
+     * subschemas too.
+     *
+     * @param visitor the visitor to be called
+     */
+    public void accept(final SchemaVisitor visitor) {
+        visitor.visitSchema(this);
+    }
+
     /**
      * Determines if this {@code Schema} instance defines any restrictions for the object property
      * denoted by {@code field}. The {@code field} should be a JSON pointer, denoting the property to
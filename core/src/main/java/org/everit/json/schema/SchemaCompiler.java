@@ -0,0 +1,294 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import com.google.common.primitives.Ints;
+
+import org.everit.json.schema.regexp.Regexp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.everit.json.schema.CompiledSchema.ARRAY_NO_ADDITIONAL_ITEMS;
+import static org.everit.json.schema.CompiledSchema.ARRAY_REQUIRED;
+import static org.everit.json.schema.CompiledSchema.ARRAY_UNIQUE_ITEMS;
+import static org.everit.json.schema.CompiledSchema.NONE;
+import static org.everit.json.schema.CompiledSchema.NUMBER_INTEGER;
+import static org.everit.json.schema.CompiledSchema.NUMBER_REQUIRED;
+import static org.everit.json.schema.CompiledSchema.OBJECT_NO_ADDITIONAL_PROPERTIES;
+import static org.everit.json.schema.CompiledSchema.OBJECT_REQUIRED;
+import static org.everit.json.schema.CompiledSchema.OP_ALL_OF;
+import static org.everit.json.schema.CompiledSchema.OP_ANY_OF;
+import static org.everit.json.schema.CompiledSchema.OP_ARRAY;
+import static org.everit.json.schema.CompiledSchema.OP_BOOLEAN;
+import static org.everit.json.schema.CompiledSchema.OP_CALL;
+import static org.everit.json.schema.CompiledSchema.OP_EMPTY;
+import static org.everit.json.schema.CompiledSchema.OP_ENUM;
+import static org.everit.json.schema.CompiledSchema.OP_NOT;
+import static org.everit.json.schema.CompiledSchema.OP_NULL;
+import static org.everit.json.schema.CompiledSchema.OP_NUMBER;
+import static org.everit.json.schema.CompiledSchema.OP_OBJECT;
+import static org.everit.json.schema.CompiledSchema.OP_ONE_OF;
+import static org.everit.json.schema.CompiledSchema.OP_STRING;
+
+/**
+ * Translates a {@link Schema} graph into the instruction program executed by {@link CompiledSchema}.
+ * <p>
+ * Every distinct schema instance becomes a node of the program. Node indexes are assigned when a
+ * schema is first referenced, and the records are emitted from a work queue, therefore cyclic schema
+ * graphs (built with {@link ReferenceSchema}) are compiled without recursion. Reference schemas don't
+ * have records, they are replaced by the node of their referred schema.
+ * <p>
+ * Instances are not reusable, a new compiler is used for each compilation.
+ */
+final class SchemaCompiler {
+
+    private final Map<Schema, Integer> nodes = new IdentityHashMap<>();
+
+    private final Deque<Schema> pending = new ArrayDeque<>();
+
+    private final List<Integer> entries = new ArrayList<>();
+
+    private final List<Integer> code = new ArrayList<>();
+
+    private final List<Object> constants = new ArrayList<>();
+
+    CompiledSchema compile(final Schema root) {
+        nodeOf(root);
+        while (!pending.isEmpty()) {
+            Schema schema = pending.removeFirst();
+            entries.set(nodes.get(schema), code.size());
+            emit(schema);
+        }
+        return new CompiledSchema(root, Ints.toArray(code), Ints.toArray(entries), constants.toArray());
+    }
+
+    /**
+     * Returns the node index of {@code schema}, assigning a new one (and scheduling the emission of its
+     * record) if it hasn't been referenced yet.
+     */
+    private int nodeOf(final Schema schema) {
+        Schema target = dereference(schema);
+        Integer node = nodes.get(target);
+        if (node == null) {
+            node = entries.size();
+            entries.add(NONE);
+            nodes.put(target, node);
+            pending.addLast(target);
+        }
+        return node;
+    }
+
+    /**
+     * Follows the chain of {@link ReferenceSchema} instances. Unresolved references (and reference
+     * cycles not leading to any other schema) are returned as they are, and they will be called as
+     * opaque schemas.
+     */
+    private static Schema dereference(final Schema schema) {
+        Schema current = schema;
+        Map<Schema, Boolean> visited = null;
+        while (current.getClass() == ReferenceSchema.class) {
+            Schema referred = ((ReferenceSchema) current).getReferredSchema();
+            if (referred == null) {
+                return current;
+            }
+            if (visited == null) {
+                visited = new IdentityHashMap<>();
+            }
+            if (visited.put(current, Boolean.TRUE) != null) {
+                return schema;
+            }
+            current = referred;
+        }
+        return current;
+    }
+
+    private void emit(final Schema schema) {
+        Class<?> type = schema.getClass();
+        if (type == EmptySchema.class) {
+            code.add(OP_EMPTY);
+        } else if (type == BooleanSchema.class) {
+            code.add(OP_BOOLEAN);
+        } else if (type == NullSchema.class) {
+            code.add(OP_NULL);
+        } else if (type == StringSchema.class) {
+            emitString((StringSchema) schema);
+        } else if (type == NumberSchema.class) {
+            emitNumber((NumberSchema) schema);
+        } else if (type == EnumSchema.class) {
+            code.add(OP_ENUM);
+            code.add(constant(schema));
+        } else if (type == NotSchema.class) {
+            code.add(OP_NOT);
+            code.add(nodeOf(((NotSchema) schema).getMustNotMatch()));
+        } else if (type == CombinedSchema.class && opcodeOf((CombinedSchema) schema) != NONE) {
+            emitCombined((CombinedSchema) schema);
+        } else if (type == ArraySchema.class) {
+            emitArray((ArraySchema) schema);
+        } else if (type == ObjectSchema.class) {
+            emitObject((ObjectSchema) schema);
+        } else {
+            code.add(OP_CALL);
+            code.add(constant(schema));
+        }
+    }
+
+    private void emitString(final StringSchema schema) {
+        code.add(OP_STRING);
+        code.add(schema.requiresString() ? 1 : 0);
+        code.add(orNone(schema.getMinLength()));
+        code.add(orNone(schema.getMaxLength()));
+        Regexp pattern = schema.getRegexp();
+        code.add(pattern == null ? NONE : constant(pattern));
+        FormatValidator formatValidator = schema.getFormatValidator();
+        code.add(formatValidator == FormatValidator.NONE
+                ? NONE
+                : constant(AbstractCharSequenceFormatValidator.adapt(formatValidator)));
+    }
+
+    private void emitNumber(final NumberSchema schema) {
+        int flags = 0;
+        if (schema.requiresNumber()) {
+            flags |= NUMBER_REQUIRED;
+        }
+        if (schema.requiresInteger()) {
+            flags |= NUMBER_INTEGER;
+        }
+        code.add(OP_NUMBER);
+        code.add(flags);
+        NumberLimits limits = schema.getLimits();
+        code.add(limits.isEmpty() ? NONE : constant(limits));
+    }
+
+    private static int opcodeOf(final CombinedSchema schema) {
+        CombinedSchema.ValidationCriterion criterion = schema.getCriterion();
+        if (criterion == CombinedSchema.ALL_CRITERION) {
+            return OP_ALL_OF;
+        } else if (criterion == CombinedSchema.ANY_CRITERION) {
+            return OP_ANY_OF;
+        } else if (criterion == CombinedSchema.ONE_CRITERION) {
+            return OP_ONE_OF;
+        }
+        return NONE;
+    }
+
+    private void emitCombined(final CombinedSchema schema) {
+        Collection<Schema> subschemas = schema.getSubschemas();
+        code.add(opcodeOf(schema));
+        code.add(subschemas.size());
+        for (Schema subschema : subschemas) {
+            code.add(nodeOf(subschema));
+        }
+    }
+
+    private void emitArray(final ArraySchema schema) {
+        int flags = 0;
+        if (schema.requiresArray()) {
+            flags |= ARRAY_REQUIRED;
+        }
+        if (schema.needsUniqueItems()) {
+            flags |= ARRAY_UNIQUE_ITEMS;
+        }
+        if (!schema.permitsAdditionalItems()) {
+            flags |= ARRAY_NO_ADDITIONAL_ITEMS;
+        }
+        code.add(OP_ARRAY);
+        code.add(flags);
+        code.add(orNone(schema.getMinItems()));
+        code.add(orNone(schema.getMaxItems()));
+        code.add(nodeOrNone(schema.getAllItemSchema()));
+        code.add(nodeOrNone(schema.getSchemaOfAdditionalItems()));
+        List<Schema> itemSchemas = schema.getItemSchemas();
+        if (itemSchemas == null) {
+            code.add(NONE);
+        } else {
+            code.add(itemSchemas.size());
+            for (Schema itemSchema : itemSchemas) {
+                code.add(nodeOf(itemSchema));
+            }
+        }
+    }
+
+    private void emitObject(final ObjectSchema schema) {
+        int flags = 0;
+        if (schema.requiresObject()) {
+            flags |= OBJECT_REQUIRED;
+        }
+        if (!schema.permitsAdditionalProperties()) {
+            flags |= OBJECT_NO_ADDITIONAL_PROPERTIES;
+        }
+        code.add(OP_OBJECT);
+        code.add(flags);
+        code.add(orNone(schema.getMinProperties()));
+        code.add(orNone(schema.getMaxProperties()));
+        code.add(nodeOrNone(schema.getSchemaOfAdditionalProperties()));
+        Map<String, Integer> propertySchemas = new HashMap<>();
+        for (Entry<String, Schema> property : schema.getPropertySchemas().entrySet()) {
+            propertySchemas.put(property.getKey(), nodeOf(property.getValue()));
+        }
+        code.add(constant(propertySchemas));
+        List<String> requiredProperties = schema.getRequiredProperties();
+        code.add(requiredProperties.size());
+        for (String requiredProperty : requiredProperties) {
+            code.add(constant(requiredProperty));
+        }
+        Map<Pattern, Schema> patternProperties = schema.getPatternProperties();
+        code.add(patternProperties.size());
+        int patternIndex = 0;
+        for (Entry<Pattern, Schema> patternProperty : patternProperties.entrySet()) {
+            code.add(constant(schema.getPatternRegexp(patternIndex++)));
+            code.add(nodeOf(patternProperty.getValue()));
+        }
+        Map<String, Set<String>> propertyDependencies = schema.getPropertyDependencies();
+        code.add(propertyDependencies.size());
+        for (Entry<String, Set<String>> dependency : propertyDependencies.entrySet()) {
+            code.add(constant(dependency.getKey()));
+            code.add(dependency.getValue().size());
+            for (String mustBePresent : dependency.getValue()) {
+                code.add(constant(mustBePresent));
+            }
+        }
+        Map<String, Schema> schemaDependencies = schema.getSchemaDependencies();
+        code.add(schemaDependencies.size());
+        for (Entry<String, Schema> dependency : schemaDependencies.entrySet()) {
+            code.add(constant(dependency.getKey()));
+            code.add(nodeOf(dependency.getValue()));
+        }
+    }
+
+    private int nodeOrNone(final Schema schema) {
+        return schema == null ? NONE : nodeOf(schema);
+    }
+
+    private static int orNone(final Integer value) {
+        return value == null ? NONE : value;
+    }
+
+    private int constant(final Object value) {
+        constants.add(value);
+        return constants.size() - 1;
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
+
+/**
+ * Walks a schema graph, visiting every reachable schema instance exactly once.
+ * <p>
+ * The traversal follows the subschemas of {@link ObjectSchema}, {@link ArraySchema},
+ * {@link CombinedSchema} and {@link NotSchema}, and the {@link ReferenceSchema#getReferredSchema()
+ * referred schemas} of references (unresolved references are visited, but have no subschemas).
+ * Schemas are tracked by identity, therefore recursive schemas are visited only once, and the
+ * traversal is iterative, so deeply nested schemas don't cause stack overflow.
+ * <p>
+ * Schemas are visited in depth-first pre-order, the subschemas of a schema are visited in their
+ * declaration order. Subschemas of custom {@link Schema} subclasses are not known, therefore they
+ * are not visited.
+ */
+public final class SchemaTraversal {
+
+    /**
+     * Collects the direct subschemas of the visited schema.
+     */
+    private static final class SubschemaCollector extends SchemaVisitor {
+
+        private final List<Schema> subschemas = new ArrayList<>();
+
+        private void add(final Schema schema) {
+            if (schema != null) {
+                subschemas.add(schema);
+            }
+        }
+
+        private void addAll(final Collection<Schema> schemas) {
+            if (schemas != null) {
+                for (Schema schema : schemas) {
+                    add(schema);
+                }
+            }
+        }
+
+        @Override
+        public void visitArraySchema(final ArraySchema schema) {
+            add(schema.getAllItemSchema());
+            addAll(schema.getItemSchemas());
+            add(schema.getSchemaOfAdditionalItems());
+        }
+
+        @Override
+        public void visitCombinedSchema(final CombinedSchema schema) {
+            addAll(schema.getSubschemas());
+        }
+
+        @Override
+        public void visitNotSchema(final NotSchema schema) {
+            add(schema.getMustNotMatch());
+        }
+
+        @Override
+        public void visitObjectSchema(final ObjectSchema schema) {
+            addAll(schema.getPropertySchemas().values());
+            addAll(schema.getPatternProperties().values());
+            add(schema.getSchemaOfAdditionalProperties());
+            addAll(schema.getSchemaDependencies().values());
+        }
+
+        @Override
+        public void visitReferenceSchema(final ReferenceSchema schema) {
+            add(schema.getReferredSchema());
+        }
+    }
+
+    private SchemaTraversal() {
+    }
+
+    /**
+     * Returns the direct subschemas of {@code schema}, in declaration order.
+     *
+     * @param schema the schema to be inspected
+     * @return the (possibly empty) list of subschemas
+     */
+    public static List<Schema> subschemasOf(final Schema schema) {
+        SubschemaCollector collector = new SubschemaCollector();
+        requireNonNull(schema, "schema cannot be null").accept(collector);
+        return collector.subschemas;
+    }
+
+    /**
+     * Visits {@code root} and every schema reachable from it.
+     *
+     * @param root    the schema to start the traversal from
+     * @param visitor the visitor called for each reachable schema
+     * @return the set of visited schema instances (compared by identity)
+     */
+    public static Set<Schema> walk(final Schema root, final SchemaVisitor visitor) {
+        requireNonNull(root, "root cannot be null");
+        requireNonNull(visitor, "visitor cannot be null");
+        Set<Schema> visited = Collections.newSetFromMap(new IdentityHashMap<Schema, Boolean>());
+        Deque<Schema> stack = new ArrayDeque<>();
+        SubschemaCollector collector = new SubschemaCollector();
+        List<Schema> subschemas = collector.subschemas;
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Schema schema = stack.pop();
+            if (!visited.add(schema)) {
+                continue;
+            }
+            schema.accept(visitor);
+            subschemas.clear();
+            schema.accept(collector);
+            for (int i = subschemas.size() - 1; i >= 0; --i) {
+                Schema subschema = subschemas.get(i);
+                if (!visited.contains(subschema)) {
+                    stack.push(subschema);
+                }
+            }
+        }
+        return visited;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+/**
+ * Visitor of the {@link Schema} class hierarchy, see {@link Schema#accept(SchemaVisitor)}.
+ * <p>
+ * Every {@code visitXxxSchema()} method calls {@link #visitSchema(Schema)} by default, which does
+ * nothing. Subclasses override the methods of the schema types they are interested in. Schema
+ * types which are not known by the visitor (custom {@link Schema} subclasses) are passed to
+ * {@link #visitSchema(Schema)}.
+ * <p>
+ * Use {@link SchemaTraversal#walk(Schema, SchemaVisitor)} to visit every schema of a schema graph.
+ */
+public abstract class SchemaVisitor {
+
+    /**
+     * Called for the schema types which are not handled by the other, type-specific methods.
+     *
+     * @param schema the visited schema
+     */
+    public void visitSchema(final Schema schema) {
+    }
+
+    public void visitArraySchema(final ArraySchema schema) {
+        visitSchema(schema);
+    }
+
+    public void visitBooleanSchema(final BooleanSchema schema) {
+        visitSchema(schema);
+    }
+
+    public void visitCombinedSchema(final CombinedSchema schema) {
+        visitSchema(schema);
+    }
+
+    public void visitEmptySchema(final EmptySchema schema) {
+        visitSchema(schema);
+    }
+
+    public void visitEnumSchema(final EnumSchema schema) {
+        visitSchema(schema);
+    }
+
+    public void visitNotSchema(final NotSchema schema) {
+        visitSchema(schema);
+    }
+
+    public void visitNullSchema(final NullSchema schema) {
+        visitSchema(schema);
+    }
+
+    public void visitNumberSchema(final NumberSchema schema) {
+        visitSchema(schema);
+    }
+
+    public void visitObjectSchema(final ObjectSchema schema) {
+        visitSchema(schema);
+    }
+
+    public void visitReferenceSchema(final ReferenceSchema schema) {
+        visitSchema(schema);
+    }
+
+    public void visitStringSchema(final StringSchema schema) {
+        visitSchema(schema);
+    }
+}
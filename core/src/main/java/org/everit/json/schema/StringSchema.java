@@ -18,6 +18,10 @@ package org.everit.json.schema;
 import com.google.common.base.Function;
 
 import org.everit.json.schema.internal.JSONPrinter;
+import org.everit.json.schema.regexp.JavaUtilRegexp;
+import org.everit.json.schema.regexp.JavaUtilRegexpFactory;
+import org.everit.json.schema.regexp.Regexp;
+import org.everit.json.schema.regexp.RegexpFactory;
 import org.json.JSONException;
 
 import java.util.ArrayList;
@@ -45,6 +49,8 @@ public class StringSchema extends Schema {
 
         private String pattern;
 
+        private RegexpFactory regexpFactory = JavaUtilRegexpFactory.INSTANCE;
+
         private boolean requiresString = true;
 
         private FormatValidator formatValidator = FormatValidator.NONE;
@@ -82,6 +88,19 @@ public class StringSchema extends Schema {
             return this;
         }
 
+        /**
+         * Sets the regex engine used to compile the {@code "pattern"} of the schema. Defaults to
+         * {@link JavaUtilRegexpFactory}.
+         *
+         * @param regexpFactory the regex engine
+         * @return {@code this}
+         * @see org.everit.json.schema.regexp.LinearRegexpFactory
+         */
+        public Builder regexpFactory(final RegexpFactory regexpFactory) {
+            this.regexpFactory = requireNonNull(regexpFactory, "regexpFactory cannot be null");
+            return this;
+        }
+
         public Builder requiresString(final boolean requiresString) {
             this.requiresString = requiresString;
             return this;
@@ -91,10 +110,16 @@ public class StringSchema extends Schema {
 
     private final Integer minLength;
     private final Integer maxLength;
-    private final Pattern pattern;
+    private final Regexp pattern;
     private final boolean requiresString;
     private final FormatValidator formatValidator;
 
+    /**
+     * The {@code java.util.regex} form of a {@link #pattern} compiled by an other engine, compiled at the
+     * first {@link #getPattern()} call.
+     */
+    private volatile Pattern javaUtilPattern;
+
     public StringSchema() {
         this(builder());
     }
@@ -110,7 +135,7 @@ public class StringSchema extends Schema {
         this.maxLength = builder.maxLength;
         this.requiresString = builder.requiresString;
         if (builder.pattern != null) {
-            this.pattern = Pattern.compile(builder.pattern);
+            this.pattern = builder.regexpFactory.compile(builder.pattern);
         } else {
             this.pattern = null;
         }
@@ -129,10 +154,40 @@ public class StringSchema extends Schema {
         return minLength;
     }
 
+    /**
+     * Returns the {@code "pattern"} of the schema as a {@link Pattern}. If the pattern is compiled by an
+     * other engine than {@link JavaUtilRegexpFactory}, then the {@code Pattern} is compiled at the first
+     * call (validation uses {@link #getRegexp()}).
+     *
+     * @return the pattern, or {@code null} if the schema has no pattern
+     * @see #getRegexp()
+     */
     public Pattern getPattern() {
+        if (pattern == null) {
+            return null;
+        } else if (pattern instanceof JavaUtilRegexp) {
+            return ((JavaUtilRegexp) pattern).getPattern();
+        }
+        Pattern compiled = javaUtilPattern;
+        if (compiled == null) {
+            compiled = Pattern.compile(pattern.pattern());
+            javaUtilPattern = compiled;
+        }
+        return compiled;
+    }
+
+    /**
+     * @return the {@code "pattern"} of the schema as compiled by the configured regex engine, or {@code null}
+     * if the schema has no pattern
+     */
+    public Regexp getRegexp() {
         return pattern;
     }
 
+    public boolean requiresString() {
+        return requiresString;
+    }
+
     private List<ValidationException> testLength(final String subject) {
         int actualLength = subject.codePointCount(0, subject.length());
         List<ValidationException> rval = new ArrayList<>();
@@ -148,7 +203,7 @@ public class StringSchema extends Schema {
     }
 
     private List<ValidationException> testPattern(final String subject) {
-        if (pattern != null && !pattern.matcher(subject).find()) {
+        if (pattern != null && !pattern.find(subject)) {
             return Arrays.asList(new ValidationException(this, String.format(
                     "string [%s] does not match pattern %s",
                     subject, pattern.pattern()), "pattern"));
@@ -179,6 +234,36 @@ public class StringSchema extends Schema {
         }
     }
 
+    @Override
+    public void accept(final SchemaVisitor visitor) {
+        visitor.visitStringSchema(this);
+    }
+
+    @Override
+    public boolean isValid(final Object subject) {
+        if (getClass() != StringSchema.class) {
+            return super.isValid(subject);
+        }
+        if (!(subject instanceof String)) {
+            return !requiresString;
+        }
+        String stringSubject = (String) subject;
+        int actualLength = stringSubject.codePointCount(0, stringSubject.length());
+        if (minLength != null && actualLength < minLength.intValue()) {
+            return false;
+        }
+        if (maxLength != null && actualLength > maxLength.intValue()) {
+            return false;
+        }
+        if (pattern != null && !pattern.find(stringSubject)) {
+            return false;
+        }
+        if (formatValidator instanceof CharSequenceFormatValidator) {
+            return ((CharSequenceFormatValidator) formatValidator).isValid(stringSubject);
+        }
+        return !formatValidator.validate(stringSubject).isPresent();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -194,7 +279,7 @@ public class StringSchema extends Schema {
                 && super.equals(that);
     }
 
-    private String patternIfNotNull(Pattern pattern) {
+    private String patternIfNotNull(Regexp pattern) {
         if (pattern == null) {
             return null;
         } else {
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import org.json.JSONException;
+
+/**
+ * Wraps a JSON value so that it can be used as a key of hash-based collections, using
+ * {@link ObjectComparator#deepHashCode(Object)} and {@link ObjectComparator#deepEquals(Object, Object)}
+ * instead of the identity-based {@code hashCode()} and {@code equals()} of {@code JSONObject} and
+ * {@code JSONArray}. The hash code is computed once, at construction time.
+ * <p>
+ * The wrapped value must not be modified while the key is in use.
+ */
+final class StructuralKey {
+
+    private final Object value;
+
+    private final int hash;
+
+    StructuralKey(final Object value) throws JSONException {
+        this.value = value;
+        this.hash = ObjectComparator.deepHashCode(value);
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StructuralKey)) {
+            return false;
+        }
+        StructuralKey that = (StructuralKey) o;
+        if (hash != that.hash) {
+            return false;
+        }
+        try {
+            return ObjectComparator.deepEquals(value, that.value);
+        } catch (JSONException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -23,6 +23,7 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -33,10 +34,87 @@ import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
  * Thrown by {@link Schema} subclasses on validation failure.
  */
 public class ValidationException extends RuntimeException {
+
+    /**
+     * Immutable linked list of JSON pointer fragments. Instances are shared between a failure and the
+     * failures created from it by {@link #prepend(String, Schema)}, therefore prepending a fragment is
+     * a constant-time operation, and the string representation of the pointer is only rendered by
+     * {@link #getPointerToViolation()}.
+     * <p>
+     * The fragments are stored unescaped. The last node of a pointer holds the {@code base} pointer
+     * (usually {@code "#"}) the exception was created with, and it has a {@code null fragment}. The
+     * list of fragments to be prepended to the causing exceptions has no such node.
+     */
+    private static final class PointerChain implements Serializable {
+
+        private static final long serialVersionUID = -3815346212485049387L;
+
+        static final PointerChain ROOT = new PointerChain(null, "#", null);
+
+        static PointerChain of(final StringBuilder pointer) {
+            if (pointer == null) {
+                return null;
+            }
+            String base = pointer.toString();
+            return "#".equals(base) ? ROOT : new PointerChain(null, base, null);
+        }
+
+        /**
+         * Returns the concatenation of {@code prefix} and {@code rest}. Only the nodes of
+         * {@code prefix} are copied, {@code rest} is shared.
+         */
+        static PointerChain concat(final PointerChain prefix, final PointerChain rest) {
+            if (prefix == null) {
+                return rest;
+            }
+            return new PointerChain(prefix.fragment, null, concat(prefix.next, rest));
+        }
+
+        private final String fragment;
+
+        private final String base;
+
+        private final PointerChain next;
+
+        PointerChain(final String fragment, final String base, final PointerChain next) {
+            this.fragment = fragment;
+            this.base = base;
+            this.next = next;
+        }
+
+        private static String escapeFragment(final String fragment) {
+            return fragment.replace("~", "~0").replace("/", "~1");
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("#");
+            PointerChain node = this;
+            while (node.fragment != null) {
+                sb.append('/').append(escapeFragment(node.fragment));
+                node = node.next;
+            }
+            if (node.base.length() > 1) {
+                sb.append(node.base, 1, node.base.length());
+            }
+            return sb.toString();
+        }
+    }
+
     private static final long serialVersionUID = 6192047123024651924L;
-    private final StringBuilder pointerToViolation;
+    private final PointerChain pointerToViolation;
     private final transient Schema violatedSchema;
     private final List<ValidationException> causingExceptions;
+
+    /**
+     * Fragments which are prepended to this exception after its creation, and which should also be
+     * prepended to the pointers of {@link #causingExceptions}. It is applied lazily by
+     * {@link #getCausingExceptions()}.
+     */
+    private final PointerChain causePointerPrefix;
+
+    private transient List<ValidationException> prependedCausingExceptions;
+
     private final String keyword;
 
     /**
@@ -152,10 +230,18 @@ public class ValidationException extends RuntimeException {
      */
     ValidationException(final Schema violatedSchema, final StringBuilder pointerToViolation, final String message,
             final List<ValidationException> causingExceptions, final String keyword) {
+        this(violatedSchema, PointerChain.of(pointerToViolation), message,
+                Collections.unmodifiableList(causingExceptions), null, keyword);
+    }
+
+    private ValidationException(final Schema violatedSchema, final PointerChain pointerToViolation,
+            final String message, final List<ValidationException> causingExceptions,
+            final PointerChain causePointerPrefix, final String keyword) {
         super(message);
         this.violatedSchema = violatedSchema;
         this.pointerToViolation = pointerToViolation;
-        this.causingExceptions = Collections.unmodifiableList(causingExceptions);
+        this.causingExceptions = causingExceptions;
+        this.causePointerPrefix = causePointerPrefix;
         this.keyword = keyword;
     }
 
@@ -169,14 +255,6 @@ public class ValidationException extends RuntimeException {
         this((Schema) null, new StringBuilder("#"), message, Collections.<ValidationException>emptyList());
     }
 
-    private ValidationException(final StringBuilder pointerToViolation,
-            final Schema violatedSchema,
-            final String message,
-            final List<ValidationException> causingExceptions,
-            final String keyword) {
-        this(violatedSchema, pointerToViolation, message, causingExceptions, keyword);
-    }
-
     /**
      * Constructor.
      *
@@ -242,12 +320,27 @@ public class ValidationException extends RuntimeException {
         }
     }
 
-    private String escapeFragment(final String fragment) {
-        return fragment.replace("~", "~0").replace("/", "~1");
-    }
-
+    /**
+     * Returns the failures which caused this exception. Their pointers are prefixed with the
+     * fragments {@link #prepend(String) prepended} to this exception, which is done on the first call
+     * of this method.
+     *
+     * @return the (possibly empty) unmodifiable list of causing exceptions
+     */
     public List<ValidationException> getCausingExceptions() {
-        return causingExceptions;
+        if (causePointerPrefix == null || causingExceptions.isEmpty()) {
+            return causingExceptions;
+        }
+        List<ValidationException> rval = prependedCausingExceptions;
+        if (rval == null) {
+            List<ValidationException> prepended = new ArrayList<>(causingExceptions.size());
+            for (ValidationException cause : causingExceptions) {
+                prepended.add(cause.prependAll(causePointerPrefix));
+            }
+            rval = Collections.unmodifiableList(prepended);
+            prependedCausingExceptions = rval;
+        }
+        return rval;
     }
 
     /**
@@ -259,7 +352,7 @@ public class ValidationException extends RuntimeException {
         if (causingExceptions.isEmpty()) {
             return Collections.singletonList(getMessage());
         } else {
-            return getAllMessages(causingExceptions);
+            return getAllMessages(getCausingExceptions());
         }
     }
 
@@ -323,18 +416,18 @@ public class ValidationException extends RuntimeException {
      * @return the new {@code ViolationException} instance
      */
     public ValidationException prepend(final String fragment, final Schema violatedSchema) {
-        final String escapedFragment = escapeFragment(requireNonNull(fragment, "fragment cannot be null"));
-        StringBuilder newPointer = this.pointerToViolation.insert(1, '/').insert(2, escapedFragment);
-        List<ValidationException> prependedCausingExceptions = FluentIterable.from(causingExceptions)
-                .transform(new Function<ValidationException, ValidationException>() {
-                    @Override
-                    public ValidationException apply(ValidationException exc) {
-                        return exc.prepend(escapedFragment);
-                    }
-                })
-                .toList();
-        return new ValidationException(newPointer, violatedSchema, super.getMessage(),
-                prependedCausingExceptions, this.keyword);
+        requireNonNull(fragment, "fragment cannot be null");
+        PointerChain basePointer = pointerToViolation == null ? PointerChain.ROOT : pointerToViolation;
+        return new ValidationException(violatedSchema, new PointerChain(fragment, null, basePointer),
+                super.getMessage(), causingExceptions, new PointerChain(fragment, null, causePointerPrefix),
+                keyword);
+    }
+
+    private ValidationException prependAll(final PointerChain prefix) {
+        PointerChain basePointer = pointerToViolation == null ? PointerChain.ROOT : pointerToViolation;
+        return new ValidationException(violatedSchema, PointerChain.concat(prefix, basePointer),
+                super.getMessage(), causingExceptions, PointerChain.concat(prefix, causePointerPrefix),
+                keyword);
     }
 
     public int getViolationCount() {
@@ -372,7 +465,7 @@ public class ValidationException extends RuntimeException {
             rval.put("pointerToViolation", getPointerToViolation());
         }
         rval.put("message", super.getMessage());
-        List<JSONObject> causeJsons = FluentIterable.from(causingExceptions)
+        List<JSONObject> causeJsons = FluentIterable.from(getCausingExceptions())
                 .transform(new Function<ValidationException, JSONObject>() {
                     @Override
                     public JSONObject apply(ValidationException input) {
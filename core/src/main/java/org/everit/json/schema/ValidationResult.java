@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
+
+/**
+ * Mutable collector of the validation failures found by {@link Schema#validate(Object, ValidationResult)}.
+ * <p>
+ * The collector is passed down the schema tree during the validation, and container schemas (like
+ * {@link ObjectSchema} and {@link ArraySchema}) stop the validation as soon as
+ * {@link #hasReachedLimit() the configured maximum number of violations} is reached. Therefore
+ * {@link #failFast()} can be used to reject invalid documents without walking the remaining parts
+ * of the document.
+ * <p>
+ * Instances are not thread-safe, a new instance should be created for each validation.
+ */
+public class ValidationResult {
+
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * Creates a collector which gathers every violation of the subject.
+     *
+     * @return the new instance
+     */
+    public static ValidationResult collectAll() {
+        return new ValidationResult(UNLIMITED);
+    }
+
+    /**
+     * Creates a collector which stops the validation at the first violation.
+     *
+     * @return the new instance
+     */
+    public static ValidationResult failFast() {
+        return new ValidationResult(1);
+    }
+
+    /**
+     * Creates a collector which stops the validation after {@code maxErrors} violations are found.
+     *
+     * @param maxErrors the maximum number of violations to be collected, must be positive
+     * @return the new instance
+     */
+    public static ValidationResult maxErrors(final int maxErrors) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be positive, found: " + maxErrors);
+        }
+        return new ValidationResult(maxErrors);
+    }
+
+    private final ValidationResult root;
+
+    private final ValidationResult parent;
+
+    private final String fragment;
+
+    private final Schema violatedSchema;
+
+    private final int maxErrors;
+
+    private final List<ValidationException> failures;
+
+    private int violationCount;
+
+    private ValidationResult(final int maxErrors) {
+        this.root = this;
+        this.parent = null;
+        this.fragment = null;
+        this.violatedSchema = null;
+        this.maxErrors = maxErrors;
+        this.failures = new ArrayList<>();
+    }
+
+    private ValidationResult(final ValidationResult parent, final String fragment, final Schema violatedSchema) {
+        this.root = parent.root;
+        this.parent = parent;
+        this.fragment = fragment;
+        this.violatedSchema = violatedSchema;
+        this.maxErrors = parent.maxErrors;
+        this.failures = null;
+    }
+
+    /**
+     * Returns a view of this collector which {@link ValidationException#prepend(String) prepends}
+     * {@code fragment} to the JSON pointer of every failure before storing it. Container schemas use
+     * it to validate their child elements.
+     *
+     * @param fragment the JSON pointer fragment denoting the child element (a property name or an array index)
+     * @return the child collector
+     */
+    public ValidationResult forChild(final String fragment) {
+        return new ValidationResult(this, requireNonNull(fragment, "fragment cannot be null"), null);
+    }
+
+    /**
+     * Same as {@link #forChild(String)}, but it also replaces the
+     * {@link ValidationException#getViolatedSchema() violated schema} of the reported failures.
+     *
+     * @param fragment       the JSON pointer fragment denoting the child element
+     * @param violatedSchema the schema to be reported as the violated one
+     * @return the child collector
+     */
+    public ValidationResult forChild(final String fragment, final Schema violatedSchema) {
+        return new ValidationResult(this, requireNonNull(fragment, "fragment cannot be null"), violatedSchema);
+    }
+
+    /**
+     * Stores a validation failure.
+     *
+     * @param failure the failure to be stored
+     */
+    public void addFailure(final ValidationException failure) {
+        requireNonNull(failure, "failure cannot be null");
+        if (parent == null) {
+            failures.add(failure);
+            violationCount += failure.getViolationCount();
+        } else if (violatedSchema == null) {
+            parent.addFailure(failure.prepend(fragment));
+        } else {
+            parent.addFailure(failure.prepend(fragment, violatedSchema));
+        }
+    }
+
+    /**
+     * Checks if the validation should be stopped, since the maximum number of violations is already
+     * collected.
+     *
+     * @return {@code true} if no more failures are needed
+     */
+    public boolean hasReachedLimit() {
+        return root.violationCount >= maxErrors;
+    }
+
+    /**
+     * @return {@code true} if no failure has been collected
+     */
+    public boolean isValid() {
+        return root.failures.isEmpty();
+    }
+
+    /**
+     * Returns the collected failures. The JSON pointers of the failures point from the root of the
+     * validated document. {@link ValidationException#throwFor(Schema, List)} can be used to throw
+     * them.
+     *
+     * @return the (possibly empty) unmodifiable list of failures
+     */
+    public List<ValidationException> getFailures() {
+        return Collections.unmodifiableList(root.failures);
+    }
+
+    /**
+     * @return the total number of violations found, including the causing exceptions of the
+     * collected failures
+     */
+    public int getViolationCount() {
+        return root.violationCount;
+    }
+}
@@ -15,53 +15,142 @@
  */
 package org.everit.json.schema.internal;
 
-import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 
-import org.everit.json.schema.AbstractFormatValidator;
-import org.threeten.bp.format.DateTimeFormatter;
-import org.threeten.bp.format.DateTimeFormatterBuilder;
-import org.threeten.bp.format.DateTimeParseException;
-import org.threeten.bp.temporal.ChronoField;
+import org.everit.json.schema.AbstractCharSequenceFormatValidator;
 
 import java.util.List;
 
 /**
  * Implementation of the "date-time" format value.
+ * <p>
+ * Values are checked against the {@code date-time} production of RFC 3339 by a single scan of the
+ * characters, without allocating or throwing exceptions. Field ranges are checked, including the days
+ * of February in leap years, the hours and minutes of the offset, and leap seconds (which must fall on
+ * the last minute of the UTC day). The {@code T} and {@code Z} separators must be upper case.
  */
-public class DateTimeFormatValidator extends AbstractFormatValidator {
+public class DateTimeFormatValidator extends AbstractCharSequenceFormatValidator {
 
     private static final List<String> FORMATS_ACCEPTED = ImmutableList.of(
             "yyyy-MM-dd'T'HH:mm:ssZ", "yyyy-MM-dd'T'HH:mm:ss.[0-9]{1,9}Z"
     );
 
-    private static final String PARTIAL_DATETIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+    private static final String FAILURE_MESSAGE_SUFFIX = "] is not a valid date-time. Expected " + FORMATS_ACCEPTED;
 
-    private static final String ZONE_OFFSET_PATTERN = "XXX";
+    private static final int MAX_FRACTION_DIGITS = 9;
 
-    private static final DateTimeFormatter FORMATTER;
+    private static final int MINUTES_PER_DAY = 24 * 60;
 
-    static {
-        final DateTimeFormatter secondsFractionFormatter = new DateTimeFormatterBuilder()
-                .appendFraction(ChronoField.NANO_OF_SECOND, 1, 9, true)
-                .toFormatter();
+    /**
+     * Parses {@code length} decimal digits of {@code subject} starting at {@code offset}.
+     *
+     * @return the parsed value, or {@code -1} if any of the characters is not a digit
+     */
+    private static int digits(final CharSequence subject, final int offset, final int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; ++i) {
+            char c = subject.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(final int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
 
-        final DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder()
-                .appendPattern(PARTIAL_DATETIME_PATTERN)
-                .appendOptional(secondsFractionFormatter)
-                .appendPattern(ZONE_OFFSET_PATTERN);
+    private static int daysInMonth(final int year, final int month) {
+        switch (month) {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
 
-        FORMATTER = builder.toFormatter();
+    /**
+     * Checks if the local time {@code hour:minute} at the given offset is 23:59 in UTC.
+     */
+    private static boolean isLastMinuteOfUtcDay(final int hour, final int minute, final int offsetMinutes) {
+        int utcMinuteOfDay = ((hour * 60 + minute - offsetMinutes) % MINUTES_PER_DAY + MINUTES_PER_DAY)
+                % MINUTES_PER_DAY;
+        return utcMinuteOfDay == MINUTES_PER_DAY - 1;
     }
 
-    @Override
-    public Optional<String> validate(final String subject) {
-        try {
-            FORMATTER.parse(subject);
-            return Optional.absent();
-        } catch (DateTimeParseException e) {
-            return Optional.of(String.format("[%s] is not a valid date-time. Expected %s", subject, FORMATS_ACCEPTED));
+    static boolean isValidDateTime(final CharSequence subject) {
+        int length = subject.length();
+        if (length < 20
+                || subject.charAt(4) != '-'
+                || subject.charAt(7) != '-'
+                || subject.charAt(10) != 'T'
+                || subject.charAt(13) != ':'
+                || subject.charAt(16) != ':') {
+            return false;
+        }
+        int year = digits(subject, 0, 4);
+        int month = digits(subject, 5, 2);
+        int day = digits(subject, 8, 2);
+        int hour = digits(subject, 11, 2);
+        int minute = digits(subject, 14, 2);
+        int second = digits(subject, 17, 2);
+        if (year < 0
+                || month < 1 || month > 12
+                || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23
+                || minute < 0 || minute > 59
+                || second < 0 || second > 60) {
+            return false;
         }
+        int pos = 19;
+        if (subject.charAt(pos) == '.') {
+            int fractionStart = ++pos;
+            while (pos < length && subject.charAt(pos) >= '0' && subject.charAt(pos) <= '9') {
+                ++pos;
+            }
+            int fractionDigits = pos - fractionStart;
+            if (fractionDigits < 1 || fractionDigits > MAX_FRACTION_DIGITS || pos == length) {
+                return false;
+            }
+        }
+        char offsetSign = subject.charAt(pos);
+        int offsetMinutes;
+        if (offsetSign == 'Z') {
+            if (pos + 1 != length) {
+                return false;
+            }
+            offsetMinutes = 0;
+        } else if (offsetSign == '+' || offsetSign == '-') {
+            if (pos + 6 != length || subject.charAt(pos + 3) != ':') {
+                return false;
+            }
+            int offsetHour = digits(subject, pos + 1, 2);
+            int offsetMinute = digits(subject, pos + 4, 2);
+            if (offsetHour < 0 || offsetHour > 23 || offsetMinute < 0 || offsetMinute > 59) {
+                return false;
+            }
+            offsetMinutes = (offsetHour * 60 + offsetMinute) * (offsetSign == '+' ? 1 : -1);
+        } else {
+            return false;
+        }
+        return second < 60 || isLastMinuteOfUtcDay(hour, minute, offsetMinutes);
+    }
+
+    @Override
+    public boolean isValid(final CharSequence subject) {
+        return isValidDateTime(subject);
+    }
+
+    @Override
+    public String failureMessage(final CharSequence subject) {
+        return "[" + subject + FAILURE_MESSAGE_SUFFIX;
     }
 
     @Override
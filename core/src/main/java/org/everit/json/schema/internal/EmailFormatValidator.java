@@ -15,22 +15,134 @@
  */
 package org.everit.json.schema.internal;
 
-import com.google.common.base.Optional;
-
 import org.apache.commons.validator.routines.EmailValidator;
-import org.everit.json.schema.AbstractFormatValidator;
+import org.everit.json.schema.AbstractCharSequenceFormatValidator;
 
 /**
  * Implementation of the "email" format value.
+ * <p>
+ * By default addresses are checked against a practical subset of RFC 5321 and RFC 5322 by a single scan
+ * of the characters: the local part is a dot-atom of at most 64 characters (quoted local parts are not
+ * accepted), and the domain is either an RFC 1123 hostname with at least two labels, or an address
+ * literal like {@code [192.0.2.1]} or {@code [IPv6:2001:db8::1]}. The whole address is at most 254
+ * characters long.
+ * <p>
+ * In strict mode addresses are validated by the commons-validator {@link EmailValidator}, which also
+ * checks the top-level domain of the address against the list of known TLDs.
  */
-public class EmailFormatValidator extends AbstractFormatValidator {
+public class EmailFormatValidator extends AbstractCharSequenceFormatValidator {
+
+    private static final int MAX_LENGTH = 254;
+
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+
+    private static final String ATEXT_SPECIALS = "!#$%&'*+-/=?^_`{|}~";
+
+    private static final String IPV6_LITERAL_PREFIX = "IPv6:";
+
+    private static boolean isAtext(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || ATEXT_SPECIALS.indexOf(c) >= 0;
+    }
+
+    /**
+     * Checks if the first {@code endExclusive} characters of {@code subject} form a dot-atom.
+     */
+    private static boolean isDotAtom(final CharSequence subject, final int endExclusive) {
+        if (endExclusive == 0 || endExclusive > MAX_LOCAL_PART_LENGTH) {
+            return false;
+        }
+        char previous = '.';
+        for (int pos = 0; pos < endExclusive; ++pos) {
+            char c = subject.charAt(pos);
+            if (c == '.' ? previous == '.' : !isAtext(c)) {
+                return false;
+            }
+            previous = c;
+        }
+        return previous != '.';
+    }
+
+    private static int indexOf(final CharSequence subject, final char c, final int startInclusive) {
+        for (int pos = startInclusive; pos < subject.length(); ++pos) {
+            if (subject.charAt(pos) == c) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(final CharSequence subject, final String prefix, final int offset) {
+        if (subject.length() - offset < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); ++i) {
+            if (subject.charAt(offset + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAddressLiteral(final CharSequence subject, final int startInclusive) {
+        int end = subject.length() - 1;
+        if (subject.charAt(startInclusive) != '[' || subject.charAt(end) != ']') {
+            return false;
+        }
+        int addressStart = startInclusive + 1;
+        if (startsWith(subject, IPV6_LITERAL_PREFIX, addressStart)) {
+            return IPAddressValidator.isIpv6Address(subject, addressStart + IPV6_LITERAL_PREFIX.length(), end);
+        }
+        return IPAddressValidator.isIpv4Address(subject, addressStart, end);
+    }
+
+    static boolean isEmail(final CharSequence subject) {
+        int length = subject.length();
+        if (length > MAX_LENGTH) {
+            return false;
+        }
+        int at = indexOf(subject, '@', 0);
+        if (at < 0 || at == length - 1 || !isDotAtom(subject, at)) {
+            return false;
+        }
+        int domainStart = at + 1;
+        if (subject.charAt(domainStart) == '[') {
+            return isAddressLiteral(subject, domainStart);
+        }
+        return indexOf(subject, '.', domainStart) > 0 && HostnameFormatValidator.isHostname(subject, domainStart,
+                length, false);
+    }
+
+    private final boolean strict;
+
+    /**
+     * Constructor, creating a validator checking the practical subset of RFC 5321 and RFC 5322.
+     */
+    public EmailFormatValidator() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param strict if {@code true}, addresses are validated by the commons-validator
+     *               {@link EmailValidator}, including the check of the top-level domain
+     */
+    public EmailFormatValidator(final boolean strict) {
+        this.strict = strict;
+    }
 
     @Override
-    public Optional<String> validate(final String subject) {
-        if (EmailValidator.getInstance(false, true).isValid(subject)) {
-            return Optional.absent();
+    public boolean isValid(final CharSequence subject) {
+        if (strict) {
+            return EmailValidator.getInstance(false, true).isValid(subject.toString());
         }
-        return Optional.of(String.format("[%s] is not a valid email address", subject));
+        return isEmail(subject);
+    }
+
+    @Override
+    public String failureMessage(final CharSequence subject) {
+        return "[" + subject + "] is not a valid email address";
     }
 
     @Override
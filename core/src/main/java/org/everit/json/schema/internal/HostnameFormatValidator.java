@@ -15,24 +15,97 @@
  */
 package org.everit.json.schema.internal;
 
-import com.google.common.base.Optional;
 import com.google.common.net.InternetDomainName;
 
-import org.everit.json.schema.AbstractFormatValidator;
+import org.everit.json.schema.AbstractCharSequenceFormatValidator;
 
 /**
  * Implementation of the "hostname" format value.
+ * <p>
+ * By default hostnames are checked against RFC 1123 by a single scan of the characters: the name
+ * consists of dot-separated labels of 1 to 63 ASCII letters, digits and hyphens, labels don't start or
+ * end with a hyphen, the last label is not all-numeric, and the whole name (without an optional
+ * trailing dot) is at most 253 characters long.
+ * <p>
+ * In strict mode hostnames are validated by Guava's {@link InternetDomainName}, which also accepts
+ * internationalized names.
  */
-public class HostnameFormatValidator extends AbstractFormatValidator {
+public class HostnameFormatValidator extends AbstractCharSequenceFormatValidator {
+
+    private static final int MAX_LENGTH = 253;
+
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    /**
+     * Checks if the {@code [startInclusive, endExclusive)} range of {@code subject} is an RFC 1123
+     * hostname.
+     *
+     * @param allowTrailingDot whether a single trailing dot (denoting a fully qualified name) is accepted
+     */
+    static boolean isHostname(final CharSequence subject, final int startInclusive, final int endExclusive,
+            final boolean allowTrailingDot) {
+        int end = endExclusive;
+        if (allowTrailingDot && end > startInclusive && subject.charAt(end - 1) == '.') {
+            --end;
+        }
+        if (end == startInclusive || end - startInclusive > MAX_LENGTH) {
+            return false;
+        }
+        int labelStart = startInclusive;
+        boolean labelIsNumeric = true;
+        for (int pos = startInclusive; pos <= end; ++pos) {
+            char c = pos == end ? '.' : subject.charAt(pos);
+            if (c == '.') {
+                int labelLength = pos - labelStart;
+                if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH || subject.charAt(pos - 1) == '-') {
+                    return false;
+                }
+                if (pos == end) {
+                    return !labelIsNumeric;
+                }
+                labelStart = pos + 1;
+                labelIsNumeric = true;
+            } else if (c >= '0' && c <= '9') {
+                continue;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c == '-' && pos != labelStart)) {
+                labelIsNumeric = false;
+            } else {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private final boolean strict;
+
+    /**
+     * Constructor, creating a validator checking hostnames against RFC 1123.
+     */
+    public HostnameFormatValidator() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param strict if {@code true}, hostnames are validated by {@link InternetDomainName#from(String)}
+     *               instead of the RFC 1123 scanner
+     */
+    public HostnameFormatValidator(final boolean strict) {
+        this.strict = strict;
+    }
 
     @Override
-    public Optional<String> validate(final String subject) {
-        try {
-            InternetDomainName.from(subject);
-            return Optional.absent();
-        } catch (IllegalArgumentException | NullPointerException e) {
-            return Optional.of(String.format("[%s] is not a valid hostname", subject));
+    public boolean isValid(final CharSequence subject) {
+        if (strict) {
+            return InternetDomainName.isValid(subject.toString());
         }
+        return isHostname(subject, 0, subject.length(), true);
+    }
+
+    @Override
+    public String failureMessage(final CharSequence subject) {
+        return "[" + subject + "] is not a valid hostname";
     }
 
     @Override
@@ -15,67 +15,130 @@
  */
 package org.everit.json.schema.internal;
 
-import com.google.common.base.Function;
-import com.google.common.base.Optional;
-import com.google.common.net.InetAddresses;
-
-import java.net.InetAddress;
+import org.everit.json.schema.AbstractCharSequenceFormatValidator;
 
 /**
  * Common superclass for {@link IPV4Validator} and {@link IPV6Validator}.
+ * <p>
+ * Addresses are checked by scanning their characters once, without parsing them into
+ * {@link java.net.InetAddress} instances.
  */
-public class IPAddressValidator {
+public abstract class IPAddressValidator extends AbstractCharSequenceFormatValidator {
+
+    private static final int IPV4_OCTETS = 4;
+
+    private static final int IPV6_HEXTETS = 8;
+
+    private static final int MAX_HEXTET_DIGITS = 4;
+
+    private static boolean isDecimalDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(final char c) {
+        return isDecimalDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
 
     /**
-     * Creates an {@link InetAddress} instance if possible and returns it, or on failure it returns
-     * {@code Optional.empty()}.
-     *
-     * @param subject the string to be validated.
-     * @return the optional validation failure message
+     * Checks if the {@code [startInclusive, endExclusive)} range of {@code subject} is a dotted-quad
+     * IPv4 address. Octets must be decimal numbers between 0 and 255, without leading zeros.
      */
-    protected Optional<InetAddress> asInetAddress(final String subject) {
-        try {
-            if (InetAddresses.isInetAddress(subject)) {
-                return Optional.of(InetAddresses.forString(subject));
-            } else {
-                return Optional.absent();
+    static boolean isIpv4Address(final CharSequence subject, final int startInclusive, final int endExclusive) {
+        int pos = startInclusive;
+        for (int octet = 0; octet < IPV4_OCTETS; ++octet) {
+            if (octet > 0) {
+                if (pos >= endExclusive || subject.charAt(pos) != '.') {
+                    return false;
+                }
+                ++pos;
+            }
+            int octetStart = pos;
+            int value = 0;
+            while (pos < endExclusive && pos - octetStart < 3 && isDecimalDigit(subject.charAt(pos))) {
+                value = value * 10 + (subject.charAt(pos) - '0');
+                ++pos;
+            }
+            int digits = pos - octetStart;
+            if (digits == 0 || value > 255 || (digits > 1 && subject.charAt(octetStart) == '0')) {
+                return false;
             }
-        } catch (NullPointerException e) {
-            return Optional.absent();
         }
+        return pos == endExclusive;
     }
 
     /**
-     * Checks an IP address.
+     * Checks if {@code subject} is a dotted-quad IPv4 address.
      *
-     * @param subject        the string to be validated.
-     * @param expectedLength the expected length of {@code subject} - it is validated if
-     *                       {@link #asInetAddress(String)} validation succeeds.
-     * @param failureFormat  the {@link String#format(String, Object...) string format} of the validation failue
-     *                       message. The format string will receive only the {@code subject} parameter (so it has
-     *                       to be referred as {@code %s} in the format string
-     * @return the optional validation failure message
+     * @param subject the string to be checked
+     * @return {@code true} if {@code subject} is a valid IPv4 address
      */
-    protected Optional<String> checkIpAddress(final String subject, final int expectedLength,
-            final String failureFormat) {
-        Optional<InetAddress> inetAddressOptional = asInetAddress(subject);
-
-        if (inetAddressOptional.isPresent() && inetAddressOptional.get().getAddress().length != expectedLength) {
-            inetAddressOptional = Optional.absent();
-        }
+    static boolean isIpv4Address(final CharSequence subject) {
+        return isIpv4Address(subject, 0, subject.length());
+    }
 
-        return inetAddressOptional
-                .transform(new Function<InetAddress, Optional<String>>() {
-                    @Override
-                    public Optional<String> apply(InetAddress input) {
-                        return emptyString();
-                    }
-                })
-                .or(Optional.of(String.format(failureFormat, subject)));
+    /**
+     * Checks if {@code subject} is an IPv6 address in one of the text forms of RFC 4291, section 2.2:
+     * eight hexadecimal groups of 1 to 4 digits, optionally with one {@code "::"} standing for one or
+     * more groups of zeros, and optionally with a dotted-quad IPv4 address in place of the last two
+     * groups.
+     *
+     * @param subject the string to be checked
+     * @return {@code true} if {@code subject} is a valid IPv6 address
+     */
+    static boolean isIpv6Address(final CharSequence subject) {
+        return isIpv6Address(subject, 0, subject.length());
     }
 
-    private Optional<String> emptyString() {
-        return Optional.absent();
+    /**
+     * Checks if the {@code [startInclusive, endExclusive)} range of {@code subject} is an IPv6 address.
+     *
+     * @see #isIpv6Address(CharSequence)
+     */
+    static boolean isIpv6Address(final CharSequence subject, final int startInclusive, final int endExclusive) {
+        if (endExclusive - startInclusive < 2) {
+            return false;
+        }
+        int hextets = 0;
+        boolean compressed = false;
+        int pos = startInclusive;
+        if (subject.charAt(pos) == ':') {
+            if (subject.charAt(pos + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            pos += 2;
+        }
+        while (pos < endExclusive) {
+            int hextetStart = pos;
+            while (pos < endExclusive && isHexDigit(subject.charAt(pos))) {
+                ++pos;
+            }
+            if (pos < endExclusive && subject.charAt(pos) == '.') {
+                if (!isIpv4Address(subject, hextetStart, endExclusive)) {
+                    return false;
+                }
+                hextets += 2;
+                break;
+            }
+            int digits = pos - hextetStart;
+            if (digits == 0 || digits > MAX_HEXTET_DIGITS || ++hextets > IPV6_HEXTETS) {
+                return false;
+            }
+            if (pos == endExclusive) {
+                break;
+            }
+            if (subject.charAt(pos) != ':' || ++pos == endExclusive) {
+                return false;
+            }
+            if (subject.charAt(pos) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                ++pos;
+            }
+        }
+        return compressed ? hextets < IPV6_HEXTETS : hextets == IPV6_HEXTETS;
     }
 
 }
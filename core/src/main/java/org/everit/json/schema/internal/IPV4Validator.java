@@ -15,20 +15,19 @@
  */
 package org.everit.json.schema.internal;
 
-import com.google.common.base.Optional;
-
-import org.everit.json.schema.FormatValidator;
-
 /**
  * Implementation of the "ipv4" format value.
  */
-public class IPV4Validator extends IPAddressValidator implements FormatValidator {
+public class IPV4Validator extends IPAddressValidator {
 
-    private static final int IPV4_LENGTH = 4;
+    @Override
+    public boolean isValid(final CharSequence subject) {
+        return isIpv4Address(subject);
+    }
 
     @Override
-    public Optional<String> validate(final String subject) {
-        return checkIpAddress(subject, IPV4_LENGTH, "[%s] is not a valid ipv4 address");
+    public String failureMessage(final CharSequence subject) {
+        return "[" + subject + "] is not a valid ipv4 address";
     }
 
     @Override
@@ -15,20 +15,19 @@
  */
 package org.everit.json.schema.internal;
 
-import com.google.common.base.Optional;
-
-import org.everit.json.schema.FormatValidator;
-
 /**
  * Implementation of the "ipv6" format value.
  */
-public class IPV6Validator extends IPAddressValidator implements FormatValidator {
+public class IPV6Validator extends IPAddressValidator {
 
-    private static final int IPV6_LENGTH = 16;
+    @Override
+    public boolean isValid(final CharSequence subject) {
+        return isIpv6Address(subject);
+    }
 
     @Override
-    public Optional<String> validate(final String subject) {
-        return checkIpAddress(subject, IPV6_LENGTH, "[%s] is not a valid ipv6 address");
+    public String failureMessage(final CharSequence subject) {
+        return "[" + subject + "] is not a valid ipv6 address";
     }
 
     @Override
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.internal;
+
+import org.everit.json.schema.AbstractCharSequenceFormatValidator;
+
+/**
+ * Implementation of the "iri" format value: an absolute IRI (with a scheme) according to RFC 3987.
+ */
+public class IRIFormatValidator extends AbstractCharSequenceFormatValidator {
+
+    @Override
+    public boolean isValid(final CharSequence subject) {
+        return URISyntax.isValid(subject, true, true);
+    }
+
+    @Override
+    public String failureMessage(final CharSequence subject) {
+        return "[" + subject + "] is not a valid IRI";
+    }
+
+    @Override
+    public String formatName() {
+        return "iri";
+    }
+}
@@ -15,26 +15,46 @@
  */
 package org.everit.json.schema.internal;
 
-import com.google.common.base.Optional;
-
-import org.everit.json.schema.AbstractFormatValidator;
-
-import java.net.URI;
-import java.net.URISyntaxException;
+import org.everit.json.schema.AbstractCharSequenceFormatValidator;
 
 /**
  * Implementation of the "uri" format value.
+ * <p>
+ * The value must be an absolute URI (with a scheme) according to RFC 3986. By default protocol-relative
+ * references (like {@code //example.org/path}) are also accepted.
  */
-public class URIFormatValidator extends AbstractFormatValidator {
+public class URIFormatValidator extends AbstractCharSequenceFormatValidator {
+
+    private final boolean protocolRelativeURIPermitted;
+
+    /**
+     * Constructor, creating a validator which accepts protocol-relative references.
+     */
+    public URIFormatValidator() {
+        this(true);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param protocolRelativeURIPermitted whether references starting with {@code "//"} are accepted
+     */
+    public URIFormatValidator(final boolean protocolRelativeURIPermitted) {
+        this.protocolRelativeURIPermitted = protocolRelativeURIPermitted;
+    }
 
     @Override
-    public Optional<String> validate(final String subject) {
-        try {
-            new URI(subject);
-            return Optional.absent();
-        } catch (URISyntaxException | NullPointerException e) {
-            return Optional.of(String.format("[%s] is not a valid URI", subject));
+    public boolean isValid(final CharSequence subject) {
+        if (URISyntax.isValid(subject, true, false)) {
+            return true;
         }
+        return protocolRelativeURIPermitted && URISyntax.startsWithDoubleSlash(subject, 0)
+                && URISyntax.isValid(subject, false, false);
+    }
+
+    @Override
+    public String failureMessage(final CharSequence subject) {
+        return "[" + subject + "] is not a valid URI";
     }
 
     @Override
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.internal;
+
+import org.everit.json.schema.AbstractCharSequenceFormatValidator;
+
+/**
+ * Implementation of the "uri-reference" format value: an absolute URI or a relative reference according
+ * to RFC 3986.
+ */
+public class URIReferenceFormatValidator extends AbstractCharSequenceFormatValidator {
+
+    @Override
+    public boolean isValid(final CharSequence subject) {
+        return URISyntax.isValid(subject, false, false);
+    }
+
+    @Override
+    public String failureMessage(final CharSequence subject) {
+        return "[" + subject + "] is not a valid URI reference";
+    }
+
+    @Override
+    public String formatName() {
+        return "uri-reference";
+    }
+}
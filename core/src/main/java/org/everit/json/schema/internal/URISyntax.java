@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.internal;
+
+/**
+ * Checks the syntax of URIs (RFC 3986) and IRIs (RFC 3987) by scanning their characters once, without
+ * building {@link java.net.URI} instances.
+ */
+final class URISyntax {
+
+    private static final String UNRESERVED_PUNCTUATION = "-._~";
+
+    private static final String SUB_DELIMS = "!$&'()*+,;=";
+
+    private static final boolean[] UNRESERVED_OR_SUB_DELIM = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; ++c) {
+            UNRESERVED_OR_SUB_DELIM[c] = true;
+            UNRESERVED_OR_SUB_DELIM[Character.toUpperCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; ++c) {
+            UNRESERVED_OR_SUB_DELIM[c] = true;
+        }
+        for (char c : (UNRESERVED_PUNCTUATION + SUB_DELIMS).toCharArray()) {
+            UNRESERVED_OR_SUB_DELIM[c] = true;
+        }
+    }
+
+    /**
+     * Characters allowed in paths besides unreserved characters and sub-delims.
+     */
+    private static final String PATH_EXTRA = ":@/";
+
+    private static final String QUERY_EXTRA = ":@/?";
+
+    private static final String USERINFO_EXTRA = ":";
+
+    private static final String NONE = "";
+
+    private static boolean isAlpha(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(final char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    /**
+     * The {@code ucschar} production of RFC 3987, for characters of the basic multilingual plane.
+     */
+    private static boolean isUcschar(final char c) {
+        return (c >= '\u00a0' && c <= '\ud7ff') || (c >= '\uf900' && c <= '\ufdcf') || (c >= '\ufdf0' && c <= '\uffef');
+    }
+
+    private static boolean isPrivate(final char c) {
+        return c >= '\ue000' && c <= '\uf8ff';
+    }
+
+    private static int indexOf(final CharSequence subject, final char c, final int startInclusive,
+            final int endExclusive) {
+        for (int pos = startInclusive; pos < endExclusive; ++pos) {
+            if (subject.charAt(pos) == c) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfAny(final CharSequence subject, final String chars, final int startInclusive) {
+        for (int pos = startInclusive; pos < subject.length(); ++pos) {
+            if (chars.indexOf(subject.charAt(pos)) >= 0) {
+                return pos;
+            }
+        }
+        return subject.length();
+    }
+
+    /**
+     * Checks if every character of the {@code [startInclusive, endExclusive)} range of {@code subject} is
+     * unreserved, a sub-delim, one of the {@code extra} characters, or part of a percent-encoded octet.
+     *
+     * @param iri            whether non-ASCII characters ({@code ucschar}) are accepted as unreserved
+     * @param privateAllowed whether private use characters ({@code iprivate}) are accepted
+     */
+    private static boolean consistsOf(final CharSequence subject, final int startInclusive, final int endExclusive,
+            final String extra, final boolean iri, final boolean privateAllowed) {
+        for (int pos = startInclusive; pos < endExclusive; ++pos) {
+            char c = subject.charAt(pos);
+            if (c == '%') {
+                if (pos + 2 >= endExclusive || !isHexDigit(subject.charAt(pos + 1))
+                        || !isHexDigit(subject.charAt(pos + 2))) {
+                    return false;
+                }
+                pos += 2;
+            } else if (c < 128) {
+                if (!UNRESERVED_OR_SUB_DELIM[c] && extra.indexOf(c) < 0) {
+                    return false;
+                }
+            } else if (!iri) {
+                return false;
+            } else if (Character.isHighSurrogate(c)) {
+                if (pos + 1 >= endExclusive || !Character.isLowSurrogate(subject.charAt(pos + 1))) {
+                    return false;
+                }
+                ++pos;
+            } else if (!isUcschar(c) && !(privateAllowed && isPrivate(c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the position of the colon terminating the scheme of {@code subject}, or {@code -1} if
+     * {@code subject} doesn't start with a scheme.
+     */
+    private static int schemeEnd(final CharSequence subject) {
+        if (subject.length() == 0 || !isAlpha(subject.charAt(0))) {
+            return -1;
+        }
+        for (int pos = 1; pos < subject.length(); ++pos) {
+            char c = subject.charAt(pos);
+            if (c == ':') {
+                return pos;
+            } else if (!(isAlpha(c) || isDigit(c) || c == '+' || c == '-' || c == '.')) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks the {@code IP-literal} production (without the enclosing brackets): an IPv6 address or an
+     * {@code IPvFuture} address.
+     */
+    private static boolean isIpLiteral(final CharSequence subject, final int startInclusive, final int endExclusive) {
+        if (startInclusive < endExclusive && (subject.charAt(startInclusive) == 'v'
+                || subject.charAt(startInclusive) == 'V')) {
+            int pos = startInclusive + 1;
+            while (pos < endExclusive && isHexDigit(subject.charAt(pos))) {
+                ++pos;
+            }
+            return pos > startInclusive + 1
+                    && pos + 1 < endExclusive
+                    && subject.charAt(pos) == '.'
+                    && consistsOf(subject, pos + 1, endExclusive, USERINFO_EXTRA, false, false);
+        }
+        return IPAddressValidator.isIpv6Address(subject, startInclusive, endExclusive);
+    }
+
+    private static boolean isAuthority(final CharSequence subject, final int startInclusive, final int endExclusive,
+            final boolean iri) {
+        int hostStart = startInclusive;
+        int at = indexOf(subject, '@', startInclusive, endExclusive);
+        if (at >= 0) {
+            if (!consistsOf(subject, startInclusive, at, USERINFO_EXTRA, iri, false)) {
+                return false;
+            }
+            hostStart = at + 1;
+        }
+        int portStart;
+        if (hostStart < endExclusive && subject.charAt(hostStart) == '[') {
+            int close = indexOf(subject, ']', hostStart, endExclusive);
+            if (close < 0 || !isIpLiteral(subject, hostStart + 1, close)) {
+                return false;
+            }
+            portStart = close + 1;
+            if (portStart < endExclusive && subject.charAt(portStart) != ':') {
+                return false;
+            }
+        } else {
+            int colon = indexOf(subject, ':', hostStart, endExclusive);
+            portStart = colon < 0 ? endExclusive : colon;
+            if (!consistsOf(subject, hostStart, portStart, NONE, iri, false)) {
+                return false;
+            }
+        }
+        for (int pos = portStart + 1; pos < endExclusive; ++pos) {
+            if (!isDigit(subject.charAt(pos))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean startsWithDoubleSlash(final CharSequence subject, final int offset) {
+        return offset + 1 < subject.length() && subject.charAt(offset) == '/' && subject.charAt(offset + 1) == '/';
+    }
+
+    /**
+     * Checks the syntax of {@code subject}.
+     *
+     * @param requireScheme if {@code true}, {@code subject} must be a {@code URI} ({@code IRI}), otherwise
+     *                      it must be a {@code URI-reference} ({@code IRI-reference})
+     * @param iri           if {@code true}, the IRI grammar of RFC 3987 is used instead of RFC 3986
+     * @return {@code true} if the syntax of {@code subject} is valid
+     */
+    static boolean isValid(final CharSequence subject, final boolean requireScheme, final boolean iri) {
+        int length = subject.length();
+        int pos = schemeEnd(subject) + 1;
+        boolean hasScheme = pos > 0;
+        if (!hasScheme && requireScheme) {
+            return false;
+        }
+        int pathEnd = indexOfAny(subject, "?#", pos);
+        if (startsWithDoubleSlash(subject, pos)) {
+            int authorityEnd = indexOfAny(subject, "/?#", pos + 2);
+            if (!isAuthority(subject, pos + 2, authorityEnd, iri)) {
+                return false;
+            }
+            pos = authorityEnd;
+        } else if (!hasScheme) {
+            int firstSegmentEnd = indexOfAny(subject, "/?#", pos);
+            if (indexOf(subject, ':', pos, firstSegmentEnd) >= 0) {
+                return false;
+            }
+        }
+        if (!consistsOf(subject, pos, pathEnd, PATH_EXTRA, iri, false)) {
+            return false;
+        }
+        if (pathEnd == length) {
+            return true;
+        }
+        int fragmentStart = subject.charAt(pathEnd) == '#' ? pathEnd : indexOfAny(subject, "#", pathEnd);
+        if (!consistsOf(subject, pathEnd + 1, fragmentStart, QUERY_EXTRA, iri, iri)) {
+            return false;
+        }
+        return fragmentStart == length || consistsOf(subject, fragmentStart + 1, length, QUERY_EXTRA, iri, false);
+    }
+
+    private URISyntax() {
+    }
+}
@@ -0,0 +1,47 @@
+package org.everit.json.schema.loader;
+
+import com.google.common.base.Optional;
+
+import org.everit.json.schema.AbstractFormatValidator;
+import org.everit.json.schema.FormatValidator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared registry of the built-in format validators.
+ * <p>
+ * A validator is only created (and its classes, with their dependencies, are only loaded) the first time a
+ * schema declares its format. The created validators are stateless, so a single instance of each is
+ * shared by all loaders. The validators are created by
+ * {@link AbstractFormatValidator#forBuiltInFormat(String)}, which lists the built-in formats.
+ */
+final class BuiltInFormatValidators {
+
+    private static final ConcurrentMap<String, FormatValidator> RESOLVED = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the built-in validator of the {@code formatName} format.
+     *
+     * @param formatName the name of the format
+     * @return the shared validator instance, or {@code null} if {@code formatName} is not a built-in format
+     */
+    static FormatValidator get(final String formatName) {
+        FormatValidator formatValidator = RESOLVED.get(formatName);
+        if (formatValidator == null) {
+            Optional<FormatValidator> created = AbstractFormatValidator.forBuiltInFormat(formatName);
+            if (!created.isPresent()) {
+                return null;
+            }
+            formatValidator = created.get();
+            FormatValidator previous = RESOLVED.putIfAbsent(formatName, formatValidator);
+            if (previous != null) {
+                formatValidator = previous;
+            }
+        }
+        return formatValidator;
+    }
+
+    private BuiltInFormatValidators() {
+    }
+}
@@ -86,7 +86,8 @@ class CombinedSchemaLoader {
                 subschemas.add(defaultLoader.loadChild(defObject).build());
             }
 
-            CombinedSchema.Builder combinedSchema = COMB_SCHEMA_PROVIDERS.get(key).apply(subschemas);
+            CombinedSchema.Builder combinedSchema = COMB_SCHEMA_PROVIDERS.get(key).apply(subschemas)
+                    .detailedFailures(ls.detailedFailures);
             Schema.Builder<?> baseSchema;
             if (ls.schemaJson.has("type")) {
                 baseSchema = defaultLoader.loadForType(ls.schemaJson.get("type"));
@@ -96,7 +97,8 @@ class CombinedSchemaLoader {
             if (baseSchema == null) {
                 return Optional.of(combinedSchema);
             } else {
-                return Optional.of(allOf(asList(baseSchema.build(), combinedSchema.build())));
+                return Optional.of(allOf(asList(baseSchema.build(), combinedSchema.build()))
+                        .detailedFailures(ls.detailedFailures));
             }
         } else {
             return Optional.absent();
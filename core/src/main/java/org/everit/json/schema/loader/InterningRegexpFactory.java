@@ -0,0 +1,68 @@
+package org.everit.json.schema.loader;
+
+import org.everit.json.schema.regexp.JavaUtilRegexp;
+import org.everit.json.schema.regexp.Regexp;
+import org.everit.json.schema.regexp.RegexpFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
+
+/**
+ * Decorates the configured {@link RegexpFactory} of a schema loading, so that the {@code "pattern"} and
+ * {@code "patternProperties"} values which are repeated in the loaded schemas are compiled once, and the
+ * built schemas share the compiled instances.
+ * <p>
+ * An instance is created by the root {@link SchemaLoader} and passed on to the child loaders through
+ * {@link LoadingState}, so its cache lives as long as the loading (and the regexes are retained by the
+ * schemas anyway).
+ */
+final class InterningRegexpFactory implements RegexpFactory {
+
+    private final RegexpFactory regexpFactory;
+
+    private final ConcurrentMap<String, Regexp> regexps = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+    InterningRegexpFactory(final RegexpFactory regexpFactory) {
+        this.regexpFactory = requireNonNull(regexpFactory, "regexpFactory cannot be null");
+    }
+
+    @Override
+    public Regexp compile(final String regexp) {
+        Regexp compiled = regexps.get(regexp);
+        if (compiled == null) {
+            compiled = regexpFactory.compile(regexp);
+            Regexp previous = regexps.putIfAbsent(regexp, compiled);
+            if (previous != null) {
+                compiled = previous;
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Compiles {@code regexp} into a {@link Pattern}, as required by
+     * {@link org.everit.json.schema.ObjectSchema.Builder#patternProperty(Pattern, org.everit.json.schema.Schema)}.
+     * If the configured engine is {@code java.util.regex}, the pattern of the interned {@link Regexp} is
+     * returned.
+     */
+    Pattern compilePattern(final String regexp) {
+        Regexp compiled = compile(regexp);
+        if (compiled instanceof JavaUtilRegexp) {
+            return ((JavaUtilRegexp) compiled).getPattern();
+        }
+        Pattern pattern = patterns.get(regexp);
+        if (pattern == null) {
+            pattern = Pattern.compile(regexp);
+            Pattern previous = patterns.putIfAbsent(regexp, pattern);
+            if (previous != null) {
+                pattern = previous;
+            }
+        }
+        return pattern;
+    }
+}
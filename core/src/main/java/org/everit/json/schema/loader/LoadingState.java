@@ -24,6 +24,8 @@ class LoadingState {
     final SchemaClient httpClient;
 
     final Map<String, FormatValidator> formatValidators;
+    final InterningRegexpFactory regexpFactory;
+    final boolean detailedFailures;
     final Map<String, ReferenceSchema.Builder> pointerSchemas;
     final JSONObject rootSchemaJson;
     final JSONObject schemaJson;
@@ -31,12 +33,16 @@ class LoadingState {
 
     LoadingState(SchemaClient httpClient,
             Map<String, FormatValidator> formatValidators,
+            InterningRegexpFactory regexpFactory,
+            boolean detailedFailures,
             Map<String, ReferenceSchema.Builder> pointerSchemas,
             JSONObject rootSchemaJson,
             JSONObject schemaJson,
             URI id) {
         this.httpClient = requireNonNull(httpClient, "httpClient cannot be null");
         this.formatValidators = requireNonNull(formatValidators, "formatValidators cannot be null");
+        this.regexpFactory = requireNonNull(regexpFactory, "regexpFactory cannot be null");
+        this.detailedFailures = detailedFailures;
         this.pointerSchemas = requireNonNull(pointerSchemas, "pointerSchemas cannot be null");
         this.rootSchemaJson = requireNonNull(rootSchemaJson, "rootSchemaJson cannot be null");
         this.schemaJson = requireNonNull(schemaJson, "schemaJson cannot be null");
@@ -63,7 +69,9 @@ class LoadingState {
                 .rootSchemaJson(rootSchemaJson)
                 .pointerSchemas(pointerSchemas)
                 .httpClient(httpClient)
-                .formatValidators(formatValidators);
+                .formatValidators(formatValidators)
+                .regexpFactory(regexpFactory)
+                .detailedFailures(detailedFailures);
     }
 
     TypeBasedMultiplexer typeMultiplexer(Object obj) {
@@ -82,7 +90,11 @@ class LoadingState {
     }
 
     Optional<FormatValidator> getFormatValidator(final String format) {
-        return Optional.fromNullable(formatValidators.get(format));
+        FormatValidator formatValidator = formatValidators.get(format);
+        if (formatValidator == null) {
+            formatValidator = BuiltInFormatValidators.get(format);
+        }
+        return Optional.fromNullable(formatValidator);
     }
 
 }
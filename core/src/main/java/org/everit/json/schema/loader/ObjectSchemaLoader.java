@@ -83,9 +83,10 @@ class ObjectSchemaLoader {
             JSONObject patternPropsJson = ls.schemaJson.getJSONObject("patternProperties");
             String[] patterns = JSONObjectUtils.getNames(patternPropsJson);
             if (patterns != null) {
+                builder.regexpFactory(ls.regexpFactory);
                 for (String pattern : patterns) {
-                    builder.patternProperty(pattern, defaultLoader.loadChild(patternPropsJson.getJSONObject(pattern))
-                            .build());
+                    builder.patternProperty(ls.regexpFactory.compilePattern(pattern),
+                            defaultLoader.loadChild(patternPropsJson.getJSONObject(pattern)).build());
                 }
             }
         }
@@ -7,6 +7,7 @@ import com.google.common.collect.FluentIterable;
 
 import org.everit.json.schema.ArraySchema;
 import org.everit.json.schema.BooleanSchema;
+import org.everit.json.schema.CachingFormatValidator;
 import org.everit.json.schema.CombinedSchema;
 import org.everit.json.schema.Consumer;
 import org.everit.json.schema.EmptySchema;
@@ -19,14 +20,10 @@ import org.everit.json.schema.ObjectSchema;
 import org.everit.json.schema.ReferenceSchema;
 import org.everit.json.schema.Schema;
 import org.everit.json.schema.SchemaException;
-import org.everit.json.schema.internal.DateTimeFormatValidator;
-import org.everit.json.schema.internal.EmailFormatValidator;
-import org.everit.json.schema.internal.HostnameFormatValidator;
-import org.everit.json.schema.internal.IPV4Validator;
-import org.everit.json.schema.internal.IPV6Validator;
-import org.everit.json.schema.internal.URIFormatValidator;
 import org.everit.json.schema.loader.internal.DefaultSchemaClient;
 import org.everit.json.schema.loader.internal.WrappingFormatValidator;
+import org.everit.json.schema.regexp.JavaUtilRegexpFactory;
+import org.everit.json.schema.regexp.RegexpFactory;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -42,6 +39,7 @@ import java.util.Map;
 import java.util.Set;
 
 import static java.util.Arrays.asList;
+import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
 
 /**
  * Loads a JSON schema's JSON representation into schema validator instances.
@@ -63,16 +61,19 @@ public class SchemaLoader {
 
         URI id;
 
+        /**
+         * The format validators registered by the user. The built-in validators are resolved from
+         * {@link BuiltInFormatValidators} if the format is not registered here.
+         */
         Map<String, FormatValidator> formatValidators = new HashMap<>();
 
-        {
-            formatValidators.put("date-time", new DateTimeFormatValidator());
-            formatValidators.put("uri", new URIFormatValidator());
-            formatValidators.put("email", new EmailFormatValidator());
-            formatValidators.put("ipv4", new IPV4Validator());
-            formatValidators.put("ipv6", new IPV6Validator());
-            formatValidators.put("hostname", new HostnameFormatValidator());
-        }
+        /**
+         * The configured regex engine, or the {@link InterningRegexpFactory} of the parent loading in child
+         * loaders.
+         */
+        RegexpFactory regexpFactory = JavaUtilRegexpFactory.INSTANCE;
+
+        boolean detailedFailures = false;
 
         /**
          * Registers a format validator with the name returned by {@link FormatValidator#formatName()}.
@@ -85,6 +86,19 @@ public class SchemaLoader {
             return this;
         }
 
+        /**
+         * Registers a format validator with the name returned by {@link FormatValidator#formatName()},
+         * memoizing its results for at most {@code cacheSize} distinct values. See
+         * {@link CachingFormatValidator} for details.
+         *
+         * @param formatValidator the format validator, which must be deterministic
+         * @param cacheSize       the maximum number of values whose validation result is cached
+         * @return {@code this}
+         */
+        public SchemaLoaderBuilder addFormatValidator(FormatValidator formatValidator, int cacheSize) {
+            return addFormatValidator(new CachingFormatValidator(formatValidator, cacheSize));
+        }
+
         /**
          * @param formatName      the name which will be used in the schema JSON files to refer to this {@code formatValidator}
          * @param formatValidator the object performing the validation for schemas which use the {@code formatName} format
@@ -116,6 +130,18 @@ public class SchemaLoader {
             return this;
         }
 
+        /**
+         * Sets if the {@code allOf}, {@code anyOf} and {@code oneOf} schemas should report the failure of
+         * every non-matching subschema. See {@link CombinedSchema.Builder#detailedFailures(boolean)}.
+         *
+         * @param detailedFailures {@code true} to report the failure of every non-matching subschema
+         * @return {@code this}
+         */
+        public SchemaLoaderBuilder detailedFailures(final boolean detailedFailures) {
+            this.detailedFailures = detailedFailures;
+            return this;
+        }
+
         /**
          * Sets the initial resolution scope of the schema. {@code id} and {@code $ref} attributes
          * accuring in the schema will be resolved against this value.
@@ -136,6 +162,20 @@ public class SchemaLoader {
             return this;
         }
 
+        /**
+         * Sets the regex engine used to compile the {@code "pattern"} and {@code "patternProperties"}
+         * values of the loaded schemas. Defaults to {@link JavaUtilRegexpFactory}; use
+         * {@link org.everit.json.schema.regexp.LinearRegexpFactory} to validate untrusted input in linear
+         * time.
+         *
+         * @param regexpFactory the regex engine
+         * @return {@code this}
+         */
+        public SchemaLoaderBuilder regexpFactory(final RegexpFactory regexpFactory) {
+            this.regexpFactory = requireNonNull(regexpFactory, "regexpFactory cannot be null");
+            return this;
+        }
+
         SchemaLoaderBuilder pointerSchemas(final Map<String, ReferenceSchema.Builder> pointerSchemas) {
             this.pointerSchemas = pointerSchemas;
             return this;
@@ -196,6 +236,10 @@ public class SchemaLoader {
         }
         this.ls = new LoadingState(builder.httpClient,
                 builder.formatValidators,
+                builder.regexpFactory instanceof InterningRegexpFactory
+                        ? (InterningRegexpFactory) builder.regexpFactory
+                        : new InterningRegexpFactory(builder.regexpFactory),
+                builder.detailedFailures,
                 builder.pointerSchemas,
                 builder.getRootSchemaJson(),
                 builder.schemaJson,
@@ -256,7 +300,7 @@ public class SchemaLoader {
             Schema.Builder<?> schemaBuilder = loadForExplicitType(subtypeJson);
             subschemas.add(schemaBuilder.build());
         }
-        return CombinedSchema.anyOf(subschemas);
+        return CombinedSchema.anyOf(subschemas).detailedFailures(ls.detailedFailures);
     }
 
     private EnumSchema.Builder buildEnumSchema() throws JSONException {
@@ -38,7 +38,7 @@ public class StringSchemaLoader {
         ls.ifPresent("pattern", String.class, new Consumer<String>() {
             @Override
             public void accept(String s) {
-                builder.pattern(s);
+                builder.regexpFactory(ls.regexpFactory).pattern(s);
             }
         });
         ls.ifPresent("format", String.class, new Consumer<String>() {
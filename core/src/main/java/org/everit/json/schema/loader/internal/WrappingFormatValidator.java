@@ -2,20 +2,36 @@ package org.everit.json.schema.loader.internal;
 
 import com.google.common.base.Optional;
 
-import org.everit.json.schema.AbstractFormatValidator;
+import org.everit.json.schema.AbstractCharSequenceFormatValidator;
+import org.everit.json.schema.CharSequenceFormatValidator;
 import org.everit.json.schema.FormatValidator;
 
 import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
 
 
-public class WrappingFormatValidator extends AbstractFormatValidator {
+/**
+ * Binds a format validator to a different format name. Validators which don't implement
+ * {@link CharSequenceFormatValidator} are adapted to it, so that they keep working with both validation
+ * methods.
+ */
+public class WrappingFormatValidator extends AbstractCharSequenceFormatValidator {
 
     private final String formatName;
-    private final FormatValidator formatValidator;
+    private final CharSequenceFormatValidator formatValidator;
 
     public WrappingFormatValidator(String formatName, FormatValidator wrappedValidator) {
         this.formatName = requireNonNull(formatName, "formatName cannot be null");
-        this.formatValidator = requireNonNull(wrappedValidator, "wrappedValidator cannot be null");
+        this.formatValidator = adapt(requireNonNull(wrappedValidator, "wrappedValidator cannot be null"));
+    }
+
+    @Override
+    public boolean isValid(CharSequence subject) {
+        return formatValidator.isValid(subject);
+    }
+
+    @Override
+    public String failureMessage(CharSequence subject) {
+        return formatValidator.failureMessage(subject);
     }
 
     @Override
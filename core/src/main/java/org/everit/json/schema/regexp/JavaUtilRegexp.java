@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.regexp;
+
+import java.util.regex.Pattern;
+
+import static org.everit.json.schema.JSONObjectUtils.requireNonNull;
+
+/**
+ * {@link Regexp} implementation backed by a {@link Pattern}.
+ * <p>
+ * Patterns without flags having one of the most common shapes in schemas (literals, and anchored
+ * repetitions of a character class, like {@code "^urn:"} or {@code "^[a-z0-9-]+$"}) are matched by
+ * specialized loops instead of a {@link java.util.regex.Matcher}, with the same results.
+ */
+public final class JavaUtilRegexp implements Regexp {
+
+    private final Pattern pattern;
+
+    /**
+     * The specialized matcher of the pattern, or {@code null} if its shape is not recognized.
+     */
+    private final Regexp shape;
+
+    /**
+     * Constructor.
+     *
+     * @param pattern the compiled pattern
+     */
+    public JavaUtilRegexp(final Pattern pattern) {
+        this.pattern = requireNonNull(pattern, "pattern cannot be null");
+        this.shape = pattern.flags() == 0 ? RegexpShapes.analyze(pattern.pattern()) : null;
+    }
+
+    @Override
+    public boolean find(final CharSequence input) {
+        if (shape != null) {
+            return shape.find(input);
+        }
+        return pattern.matcher(input).find();
+    }
+
+    @Override
+    public String pattern() {
+        return pattern.pattern();
+    }
+
+    /**
+     * @return the wrapped pattern
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        JavaUtilRegexp that = (JavaUtilRegexp) o;
+        return pattern.pattern().equals(that.pattern.pattern()) && pattern.flags() == that.pattern.flags();
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * pattern.pattern().hashCode() + pattern.flags();
+    }
+
+    @Override
+    public String toString() {
+        return pattern.pattern();
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.regexp;
+
+import java.util.regex.Pattern;
+
+/**
+ * {@link RegexpFactory} compiling regular expressions with {@link Pattern}. This is the default engine.
+ */
+public class JavaUtilRegexpFactory implements RegexpFactory {
+
+    /**
+     * Shared instance.
+     */
+    public static final JavaUtilRegexpFactory INSTANCE = new JavaUtilRegexpFactory();
+
+    @Override
+    public Regexp compile(final String regexp) {
+        return new JavaUtilRegexp(Pattern.compile(regexp));
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.regexp;
+
+import java.util.Arrays;
+
+/**
+ * {@link Regexp} implementation which simulates the NFA of the regular expression over the input, checking
+ * all the alternatives in a single pass, without backtracking.
+ * <p>
+ * The program is compiled by {@link RegexpCompiler}. Each step keeps the set of instructions reachable
+ * after the characters consumed so far, so a search takes {@code O(input length * program size)} time.
+ * Since the result of {@link #find(CharSequence)} doesn't depend on which alternative matches, no capture
+ * groups or thread priorities are tracked.
+ */
+final class LinearRegexp implements Regexp {
+
+    /**
+     * Consumes the character {@code x}.
+     */
+    static final int CHAR = 0;
+
+    /**
+     * Consumes a character in the character class {@code x}.
+     */
+    static final int CLASS = 1;
+
+    /**
+     * Continues at both {@code x} and {@code y}.
+     */
+    static final int SPLIT = 2;
+
+    /**
+     * Continues at {@code x}.
+     */
+    static final int JUMP = 3;
+
+    /**
+     * Matches at the beginning of the input.
+     */
+    static final int BEGIN = 4;
+
+    /**
+     * Matches at the end of the input, or before a line terminator at the end of the input, like {@code $}
+     * of {@link java.util.regex.Pattern}.
+     */
+    static final int END = 5;
+
+    static final int MATCH = 6;
+
+    private final String pattern;
+
+    private final int[] op;
+
+    private final int[] x;
+
+    private final int[] y;
+
+    /**
+     * The character classes, as sorted inclusive {@code [from, to]} ranges stored in consecutive elements.
+     */
+    private final int[][] classes;
+
+    private final boolean anchoredAtStart;
+
+    /**
+     * The scratch state of the searches run by each thread, reused across calls of
+     * {@link #find(CharSequence)}.
+     */
+    private final ThreadLocal<Search> searches = new ThreadLocal<Search>() {
+        @Override
+        protected Search initialValue() {
+            return new Search();
+        }
+    };
+
+    LinearRegexp(final String pattern, final int[] op, final int[] x, final int[] y, final int[][] classes,
+            final boolean anchoredAtStart) {
+        this.pattern = pattern;
+        this.op = op;
+        this.x = x;
+        this.y = y;
+        this.classes = classes;
+        this.anchoredAtStart = anchoredAtStart;
+    }
+
+    /**
+     * The state of a search: the current and the next set of instructions, and the work stack of
+     * {@link #addThread(int, int[], int, int)}. An instance is reused by the subsequent searches of the same
+     * thread, the instructions visited by an earlier step or search are told apart by {@link #step}.
+     */
+    private final class Search {
+
+        private final int[] visited = new int[op.length];
+
+        private final int[] stack = new int[op.length];
+
+        private final int[] current = new int[op.length];
+
+        private final int[] next = new int[op.length];
+
+        private int step;
+
+        private CharSequence input;
+
+        private int length;
+
+        /**
+         * Adds the consuming instructions reachable from {@code start} to {@code list}, which already
+         * contains {@code size} instructions.
+         *
+         * @return the new size of {@code list}, or {@code -1} if {@link #MATCH} is reachable
+         */
+        private int addThread(final int start, final int[] list, int size, final int position) {
+            if (visited[start] == step) {
+                return size;
+            }
+            visited[start] = step;
+            int top = 0;
+            stack[top++] = start;
+            while (top > 0) {
+                int pc = stack[--top];
+                int next = -1;
+                int alternative = -1;
+                switch (op[pc]) {
+                case CHAR:
+                case CLASS:
+                    list[size++] = pc;
+                    break;
+                case SPLIT:
+                    next = x[pc];
+                    alternative = y[pc];
+                    break;
+                case JUMP:
+                    next = x[pc];
+                    break;
+                case BEGIN:
+                    if (position == 0) {
+                        next = pc + 1;
+                    }
+                    break;
+                case END:
+                    if (isEnd(position)) {
+                        next = pc + 1;
+                    }
+                    break;
+                case MATCH:
+                    return -1;
+                default:
+                    throw new IllegalStateException("invalid instruction: " + op[pc]);
+                }
+                // pushed in reverse order, so that x is followed first
+                if (alternative >= 0 && visited[alternative] != step) {
+                    visited[alternative] = step;
+                    stack[top++] = alternative;
+                }
+                if (next >= 0 && visited[next] != step) {
+                    visited[next] = step;
+                    stack[top++] = next;
+                }
+            }
+            return size;
+        }
+
+        private boolean isEnd(final int position) {
+            if (position == length) {
+                return true;
+            }
+            if (position < length - 2) {
+                return false;
+            }
+            char c = input.charAt(position);
+            if (position == length - 2) {
+                return c == '\r' && input.charAt(position + 1) == '\n';
+            }
+            if (c == '\n') {
+                return position == 0 || input.charAt(position - 1) != '\r';
+            }
+            return c == '\r' || c == 0x85 || c == 0x2028 || c == 0x2029;
+        }
+
+        boolean find(final CharSequence input) {
+            this.input = input;
+            this.length = input.length();
+            try {
+                return run();
+            } finally {
+                this.input = null;
+            }
+        }
+
+        private void nextStep() {
+            if (++step == 0) {
+                Arrays.fill(visited, 0);
+                step = 1;
+            }
+        }
+
+        private boolean run() {
+            int[] current = this.current;
+            int[] next = this.next;
+            nextStep();
+            int currentSize = 0;
+            int position = 0;
+            while (true) {
+                if (position == 0 || !anchoredAtStart) {
+                    currentSize = addThread(0, current, currentSize, position);
+                    if (currentSize < 0) {
+                        return true;
+                    }
+                }
+                if (position == length || (currentSize == 0 && anchoredAtStart)) {
+                    return false;
+                }
+                int c = Character.codePointAt(input, position);
+                position += Character.charCount(c);
+                nextStep();
+                int nextSize = 0;
+                for (int i = 0; i < currentSize; ++i) {
+                    int pc = current[i];
+                    boolean consumed = op[pc] == CHAR ? x[pc] == c : contains(classes[x[pc]], c);
+                    if (consumed) {
+                        nextSize = addThread(pc + 1, next, nextSize, position);
+                        if (nextSize < 0) {
+                            return true;
+                        }
+                    }
+                }
+                int[] swap = current;
+                current = next;
+                next = swap;
+                currentSize = nextSize;
+            }
+        }
+    }
+
+    /**
+     * Checks if the character class {@code ranges} contains {@code c}.
+     */
+    static boolean contains(final int[] ranges, final int c) {
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (c < ranges[2 * mid]) {
+                high = mid - 1;
+            } else if (c > ranges[2 * mid + 1]) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean find(final CharSequence input) {
+        return searches.get().find(input);
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LinearRegexp that = (LinearRegexp) o;
+        return pattern.equals(that.pattern);
+    }
+
+    @Override
+    public int hashCode() {
+        return pattern.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
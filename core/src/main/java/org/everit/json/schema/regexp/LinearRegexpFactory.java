@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.regexp;
+
+/**
+ * {@link RegexpFactory} compiling regular expressions into a linear-time matcher, giving predictable
+ * worst-case latency on any input.
+ * <p>
+ * The regular expressions are executed by simulating their NFA (a Pike VM without capture groups), so the
+ * time of a search is proportional to the product of the length of the input and the size of the regular
+ * expression, and there is no backtracking. The supported constructs are the subset of ECMA 262 which JSON
+ * Schema recommends for portable schemas, with the semantics of {@link java.util.regex.Pattern}:
+ * <ul>
+ * <li>literal characters, {@code .}, character classes with ranges and negation</li>
+ * <li>the {@code \d \D \w \W \s \S} classes, {@code \t \n \r \f}, hexadecimal ({@code \xhh}) and Unicode
+ * escapes, and escaped punctuation</li>
+ * <li>{@code ^} and {@code $} anchors</li>
+ * <li>capturing and non-capturing ({@code (?:...)}) groups, alternation</li>
+ * <li>the {@code * + ? {n} {n,} {n,m}} quantifiers and their reluctant variants</li>
+ * </ul>
+ * Regular expressions using other constructs (like back-references, lookaround, word boundaries, inline flags
+ * or possessive quantifiers) are compiled with {@link java.util.regex.Pattern} instead.
+ * <p>
+ * Like with {@link JavaUtilRegexpFactory}, the most common shapes of schema patterns (literals, and
+ * anchored repetitions of a character class) are matched by specialized loops.
+ */
+public class LinearRegexpFactory implements RegexpFactory {
+
+    /**
+     * Shared instance.
+     */
+    public static final LinearRegexpFactory INSTANCE = new LinearRegexpFactory();
+
+    @Override
+    public Regexp compile(final String regexp) {
+        try {
+            RegexpCompiler.Node root = RegexpCompiler.parse(regexp);
+            Regexp shape = RegexpShapes.analyze(regexp, root);
+            return shape != null ? shape : RegexpCompiler.compile(regexp, root);
+        } catch (UnsupportedRegexpException e) {
+            return JavaUtilRegexpFactory.INSTANCE.compile(regexp);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.regexp;
+
+/**
+ * A compiled regular expression, as used by the {@code "pattern"} and {@code "patternProperties"}
+ * keywords.
+ * <p>
+ * Implementations are immutable and thread-safe.
+ *
+ * @see RegexpFactory
+ */
+public interface Regexp {
+
+    /**
+     * Checks if the regular expression matches any part of {@code input}, like
+     * {@link java.util.regex.Matcher#find()}.
+     *
+     * @param input the character sequence to be searched
+     * @return {@code true} if a match is found
+     */
+    boolean find(CharSequence input);
+
+    /**
+     * @return the source of the regular expression
+     */
+    String pattern();
+}
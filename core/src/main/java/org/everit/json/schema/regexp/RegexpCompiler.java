@@ -0,0 +1,583 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.regexp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses a regular expression into a syntax tree, and compiles it into the program executed by
+ * {@link LinearRegexp}.
+ * <p>
+ * The accepted syntax is a subset of the syntax of {@link java.util.regex.Pattern} (see
+ * {@link LinearRegexpFactory}); for any other construct, including syntax errors, an
+ * {@link UnsupportedRegexpException} is thrown, and the regular expression is left to {@code Pattern}.
+ */
+final class RegexpCompiler {
+
+    /**
+     * Upper limit of the number of instructions of a program, mostly reached by bounded repetitions.
+     */
+    private static final int MAX_PROGRAM_SIZE = 10000;
+
+    static final int UNBOUNDED = -1;
+
+    private static final int[] DIGIT = {'0', '9'};
+
+    private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+
+    private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+
+    /**
+     * Characters matched by {@code .}: everything but the line terminators.
+     */
+    private static final int[] DOT = complement(normalize(
+            new int[] {'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029}));
+
+    /**
+     * Node of the syntax tree of a regular expression, also analyzed by {@link RegexpShapes}.
+     */
+    abstract static class Node {
+
+        abstract void emit(Emitter emitter) throws UnsupportedRegexpException;
+
+        boolean isAssertion() {
+            return false;
+        }
+    }
+
+    static final class CharClassNode extends Node {
+
+        final int[] ranges;
+
+        CharClassNode(final int[] ranges) {
+            this.ranges = ranges;
+        }
+
+        @Override
+        void emit(final Emitter emitter) throws UnsupportedRegexpException {
+            if (ranges.length == 2 && ranges[0] == ranges[1]) {
+                emitter.add(LinearRegexp.CHAR, ranges[0], 0);
+            } else {
+                emitter.add(LinearRegexp.CLASS, emitter.addClass(ranges), 0);
+            }
+        }
+    }
+
+    static final class AssertionNode extends Node {
+
+        final int op;
+
+        AssertionNode(final int op) {
+            this.op = op;
+        }
+
+        @Override
+        void emit(final Emitter emitter) throws UnsupportedRegexpException {
+            emitter.add(op, 0, 0);
+        }
+
+        @Override
+        boolean isAssertion() {
+            return true;
+        }
+    }
+
+    static final class ConcatenationNode extends Node {
+
+        final List<Node> items;
+
+        ConcatenationNode(final List<Node> items) {
+            this.items = items;
+        }
+
+        @Override
+        void emit(final Emitter emitter) throws UnsupportedRegexpException {
+            for (Node item : items) {
+                item.emit(emitter);
+            }
+        }
+    }
+
+    static final class AlternationNode extends Node {
+
+        final List<Node> alternatives;
+
+        AlternationNode(final List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        void emit(final Emitter emitter) throws UnsupportedRegexpException {
+            int[] jumps = new int[alternatives.size() - 1];
+            for (int i = 0; i < jumps.length; ++i) {
+                int split = emitter.add(LinearRegexp.SPLIT, 0, 0);
+                emitter.x[split] = emitter.size;
+                alternatives.get(i).emit(emitter);
+                jumps[i] = emitter.add(LinearRegexp.JUMP, 0, 0);
+                emitter.y[split] = emitter.size;
+            }
+            alternatives.get(jumps.length).emit(emitter);
+            for (int jump : jumps) {
+                emitter.x[jump] = emitter.size;
+            }
+        }
+    }
+
+    static final class RepetitionNode extends Node {
+
+        final Node item;
+
+        final int min;
+
+        final int max;
+
+        RepetitionNode(final Node item, final int min, final int max) {
+            this.item = item;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        void emit(final Emitter emitter) throws UnsupportedRegexpException {
+            for (int i = 0; i < min; ++i) {
+                item.emit(emitter);
+            }
+            if (max == UNBOUNDED) {
+                int split = emitter.add(LinearRegexp.SPLIT, 0, 0);
+                emitter.x[split] = emitter.size;
+                item.emit(emitter);
+                emitter.add(LinearRegexp.JUMP, split, 0);
+                emitter.y[split] = emitter.size;
+            } else {
+                int[] splits = new int[max - min];
+                for (int i = 0; i < splits.length; ++i) {
+                    splits[i] = emitter.add(LinearRegexp.SPLIT, 0, 0);
+                    emitter.x[splits[i]] = emitter.size;
+                    item.emit(emitter);
+                }
+                for (int split : splits) {
+                    emitter.y[split] = emitter.size;
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the instructions and the character classes of a program.
+     */
+    private static final class Emitter {
+
+        private int[] op = new int[16];
+
+        private int[] x = new int[16];
+
+        private int[] y = new int[16];
+
+        private int size;
+
+        private final List<int[]> classes = new ArrayList<>();
+
+        int add(final int opCode, final int xArg, final int yArg) throws UnsupportedRegexpException {
+            if (size == MAX_PROGRAM_SIZE) {
+                throw new UnsupportedRegexpException("program is too large");
+            }
+            if (size == op.length) {
+                op = Arrays.copyOf(op, size * 2);
+                x = Arrays.copyOf(x, size * 2);
+                y = Arrays.copyOf(y, size * 2);
+            }
+            op[size] = opCode;
+            x[size] = xArg;
+            y[size] = yArg;
+            return size++;
+        }
+
+        int addClass(final int[] ranges) {
+            for (int i = 0; i < classes.size(); ++i) {
+                if (Arrays.equals(classes.get(i), ranges)) {
+                    return i;
+                }
+            }
+            classes.add(ranges);
+            return classes.size() - 1;
+        }
+    }
+
+    static Node parse(final String regexp) throws UnsupportedRegexpException {
+        RegexpCompiler compiler = new RegexpCompiler(regexp);
+        Node root = compiler.parseAlternation();
+        if (compiler.pos != regexp.length()) {
+            throw compiler.unsupported("unmatched closing parenthesis");
+        }
+        return root;
+    }
+
+    /**
+     * Checks if every match of {@code node} starts with {@code ^}, i.e. matches can only start at the
+     * beginning of the input.
+     */
+    private static boolean isAnchoredAtStart(final Node node) {
+        if (node instanceof AssertionNode) {
+            return ((AssertionNode) node).op == LinearRegexp.BEGIN;
+        } else if (node instanceof ConcatenationNode) {
+            List<Node> items = ((ConcatenationNode) node).items;
+            return !items.isEmpty() && isAnchoredAtStart(items.get(0));
+        } else if (node instanceof AlternationNode) {
+            for (Node alternative : ((AlternationNode) node).alternatives) {
+                if (!isAnchoredAtStart(alternative)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    static LinearRegexp compile(final String regexp, final Node root) throws UnsupportedRegexpException {
+        Emitter emitter = new Emitter();
+        root.emit(emitter);
+        emitter.add(LinearRegexp.MATCH, 0, 0);
+        return new LinearRegexp(regexp,
+                Arrays.copyOf(emitter.op, emitter.size),
+                Arrays.copyOf(emitter.x, emitter.size),
+                Arrays.copyOf(emitter.y, emitter.size),
+                emitter.classes.toArray(new int[emitter.classes.size()][]),
+                isAnchoredAtStart(root));
+    }
+
+    private final String regexp;
+
+    private int pos;
+
+    private RegexpCompiler(final String regexp) {
+        this.regexp = regexp;
+    }
+
+    private UnsupportedRegexpException unsupported(final String message) {
+        return new UnsupportedRegexpException(message + " at index " + pos + " of " + regexp);
+    }
+
+    private boolean hasNext() {
+        return pos < regexp.length();
+    }
+
+    private int peek() {
+        return regexp.codePointAt(pos);
+    }
+
+    private int next() throws UnsupportedRegexpException {
+        if (!hasNext()) {
+            throw unsupported("unexpected end of regular expression");
+        }
+        int c = regexp.codePointAt(pos);
+        pos += Character.charCount(c);
+        return c;
+    }
+
+    private boolean skip(final char c) {
+        if (hasNext() && regexp.charAt(pos) == c) {
+            ++pos;
+            return true;
+        }
+        return false;
+    }
+
+    private Node parseAlternation() throws UnsupportedRegexpException {
+        List<Node> alternatives = new ArrayList<>();
+        do {
+            alternatives.add(parseConcatenation());
+        } while (skip('|'));
+        return alternatives.size() == 1 ? alternatives.get(0) : new AlternationNode(alternatives);
+    }
+
+    private Node parseConcatenation() throws UnsupportedRegexpException {
+        List<Node> items = new ArrayList<>();
+        while (hasNext() && regexp.charAt(pos) != '|' && regexp.charAt(pos) != ')') {
+            items.add(parseRepetition());
+        }
+        return items.size() == 1 ? items.get(0) : new ConcatenationNode(items);
+    }
+
+    private Node parseRepetition() throws UnsupportedRegexpException {
+        Node item = parseAtom();
+        int min;
+        int max;
+        if (skip('*')) {
+            min = 0;
+            max = UNBOUNDED;
+        } else if (skip('+')) {
+            min = 1;
+            max = UNBOUNDED;
+        } else if (skip('?')) {
+            min = 0;
+            max = 1;
+        } else if (skip('{')) {
+            min = parseCount();
+            if (skip(',')) {
+                max = hasNext() && regexp.charAt(pos) == '}' ? UNBOUNDED : parseCount();
+            } else {
+                max = min;
+            }
+            if (!skip('}') || (max != UNBOUNDED && max < min)) {
+                throw unsupported("invalid repetition");
+            }
+        } else {
+            return item;
+        }
+        if (item.isAssertion()) {
+            throw unsupported("repeated assertion");
+        }
+        // reluctant quantifiers match the same inputs as greedy ones
+        skip('?');
+        if (hasNext() && "*+?{".indexOf(regexp.charAt(pos)) >= 0) {
+            throw unsupported("possessive or repeated quantifier");
+        }
+        return new RepetitionNode(item, min, max);
+    }
+
+    private int parseCount() throws UnsupportedRegexpException {
+        int start = pos;
+        int count = 0;
+        while (hasNext() && regexp.charAt(pos) >= '0' && regexp.charAt(pos) <= '9') {
+            count = count * 10 + (regexp.charAt(pos++) - '0');
+            if (count > MAX_PROGRAM_SIZE) {
+                throw unsupported("repetition count is too large");
+            }
+        }
+        if (pos == start) {
+            throw unsupported("invalid repetition");
+        }
+        return count;
+    }
+
+    private Node parseAtom() throws UnsupportedRegexpException {
+        int c = next();
+        switch (c) {
+        case '(':
+            if (skip('?') && !skip(':')) {
+                throw unsupported("unsupported group construct");
+            }
+            Node group = parseAlternation();
+            if (!skip(')')) {
+                throw unsupported("unclosed group");
+            }
+            return group;
+        case '[':
+            return new CharClassNode(parseCharClass());
+        case '.':
+            return new CharClassNode(DOT);
+        case '^':
+            return new AssertionNode(LinearRegexp.BEGIN);
+        case '$':
+            return new AssertionNode(LinearRegexp.END);
+        case '\\':
+            int[] escaped = parseClassEscape();
+            return new CharClassNode(escaped != null ? escaped : singleton(parseCharEscape()));
+        case '*':
+        case '+':
+        case '?':
+        case '{':
+            throw unsupported("dangling meta character");
+        default:
+            return new CharClassNode(singleton(checkCodePoint(c)));
+        }
+    }
+
+    /**
+     * Parses the character class after the opening {@code [}.
+     */
+    private int[] parseCharClass() throws UnsupportedRegexpException {
+        boolean negated = skip('^');
+        if (hasNext() && regexp.charAt(pos) == ']') {
+            throw unsupported("empty character class");
+        }
+        int[] ranges = new int[0];
+        while (!skip(']')) {
+            int c = next();
+            if (c == '[' || (c == '&' && skip('&'))) {
+                throw unsupported("nested character class");
+            }
+            int[] escaped = null;
+            if (c == '\\') {
+                escaped = parseClassEscape();
+                if (escaped == null) {
+                    c = parseCharEscape();
+                }
+            } else {
+                c = checkCodePoint(c);
+            }
+            boolean range = hasNext() && regexp.charAt(pos) == '-'
+                    && pos + 1 < regexp.length() && regexp.charAt(pos + 1) != ']';
+            if (escaped != null) {
+                if (range) {
+                    throw unsupported("character class in range");
+                }
+                ranges = union(ranges, escaped);
+            } else if (range) {
+                ++pos;
+                int to = next();
+                if (to == '[' || (to == '\\' && parseClassEscape() != null)) {
+                    throw unsupported("invalid range");
+                }
+                to = to == '\\' ? parseCharEscape() : checkCodePoint(to);
+                if (to < c) {
+                    throw unsupported("invalid range");
+                }
+                ranges = union(ranges, new int[] {c, to});
+            } else {
+                ranges = union(ranges, singleton(c));
+            }
+        }
+        return negated ? complement(ranges) : ranges;
+    }
+
+    /**
+     * Parses the predefined character class escapes ({@code \d \D \w \W \s \S}) after the backslash.
+     *
+     * @return the ranges of the class, or {@code null} (leaving {@link #pos} unchanged) if the escape is
+     * not a character class
+     */
+    private int[] parseClassEscape() throws UnsupportedRegexpException {
+        if (!hasNext()) {
+            throw unsupported("unexpected end of regular expression");
+        }
+        int[] ranges;
+        switch (regexp.charAt(pos)) {
+        case 'd':
+        case 'D':
+            ranges = DIGIT;
+            break;
+        case 'w':
+        case 'W':
+            ranges = WORD;
+            break;
+        case 's':
+        case 'S':
+            ranges = SPACE;
+            break;
+        default:
+            return null;
+        }
+        return Character.isUpperCase(regexp.charAt(pos++)) ? complement(ranges) : ranges;
+    }
+
+    /**
+     * Parses a single character escape after the backslash.
+     */
+    private int parseCharEscape() throws UnsupportedRegexpException {
+        int c = next();
+        switch (c) {
+        case 't':
+            return '\t';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 'f':
+            return '\f';
+        case 'x':
+            return checkCodePoint(parseHex(2));
+        case 'u':
+            return checkCodePoint(parseHex(4));
+        default:
+            if (c < 128 && Character.isLetterOrDigit(c)) {
+                throw unsupported("unsupported escape sequence");
+            }
+            return checkCodePoint(c);
+        }
+    }
+
+    private int parseHex(final int digits) throws UnsupportedRegexpException {
+        int value = 0;
+        for (int i = 0; i < digits; ++i) {
+            int digit = hasNext() ? Character.digit(regexp.charAt(pos), 16) : -1;
+            if (digit < 0) {
+                throw unsupported("invalid hexadecimal escape");
+            }
+            ++pos;
+            value = value * 16 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Rejects surrogates and supplementary characters, since {@code Pattern} can start a match in the middle
+     * of a surrogate pair, which is not simulated by {@link LinearRegexp}.
+     */
+    private int checkCodePoint(final int c) throws UnsupportedRegexpException {
+        if (c >= Character.MIN_SURROGATE) {
+            if (c <= Character.MAX_SURROGATE || c >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                throw unsupported("surrogate or supplementary character");
+            }
+        }
+        return c;
+    }
+
+    private static int[] singleton(final int c) {
+        return new int[] {c, c};
+    }
+
+    /**
+     * Sorts and merges the inclusive {@code [from, to]} ranges stored in consecutive elements.
+     */
+    private static int[] normalize(final int[] ranges) {
+        int count = ranges.length / 2;
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; ++i) {
+            sorted[i] = ((long) ranges[2 * i] << 32) | ranges[2 * i + 1];
+        }
+        Arrays.sort(sorted);
+        int[] rval = new int[ranges.length];
+        int size = 0;
+        for (long range : sorted) {
+            int from = (int) (range >>> 32);
+            int to = (int) range;
+            if (size > 0 && from <= rval[size - 1] + 1) {
+                rval[size - 1] = Math.max(rval[size - 1], to);
+            } else {
+                rval[size++] = from;
+                rval[size++] = to;
+            }
+        }
+        return Arrays.copyOf(rval, size);
+    }
+
+    private static int[] union(final int[] left, final int[] right) {
+        int[] ranges = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, ranges, left.length, right.length);
+        return normalize(ranges);
+    }
+
+    private static int[] complement(final int[] ranges) {
+        int[] rval = new int[ranges.length + 2];
+        int size = 0;
+        int from = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > from) {
+                rval[size++] = from;
+                rval[size++] = ranges[i] - 1;
+            }
+            from = ranges[i + 1] + 1;
+        }
+        if (from <= Character.MAX_CODE_POINT) {
+            rval[size++] = from;
+            rval[size++] = Character.MAX_CODE_POINT;
+        }
+        return Arrays.copyOf(rval, size);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.regexp;
+
+/**
+ * Compiles the regular expressions of schemas into {@link Regexp} instances, making the regex engine used for
+ * validation pluggable.
+ *
+ * @see JavaUtilRegexpFactory
+ * @see LinearRegexpFactory
+ */
+public interface RegexpFactory {
+
+    /**
+     * Compiles {@code regexp}.
+     *
+     * @param regexp the source of the regular expression
+     * @return the compiled regular expression
+     * @throws java.util.regex.PatternSyntaxException if {@code regexp} is not a valid regular expression
+     */
+    Regexp compile(String regexp);
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.regexp;
+
+import org.everit.json.schema.regexp.RegexpCompiler.AssertionNode;
+import org.everit.json.schema.regexp.RegexpCompiler.CharClassNode;
+import org.everit.json.schema.regexp.RegexpCompiler.ConcatenationNode;
+import org.everit.json.schema.regexp.RegexpCompiler.Node;
+import org.everit.json.schema.regexp.RegexpCompiler.RepetitionNode;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.everit.json.schema.regexp.RegexpCompiler.UNBOUNDED;
+
+/**
+ * Recognizes the shapes of regular expressions which are most common in schemas, and matches them with
+ * simple loops instead of a regex engine:
+ * <ul>
+ * <li>literals, optionally anchored at either or both ends, like {@code "^urn:"} or {@code "\\.json$"}</li>
+ * <li>an optional literal prefix followed by a repeated character class, anchored at the beginning, like
+ * {@code "^[a-z0-9-]+$"}, {@code "^\\d{5}$"} or {@code "^urn:[a-z]+"}</li>
+ * </ul>
+ * The results are the same as the results of {@link java.util.regex.Pattern}: {@code $} also matches
+ * before a line terminator at the end of the input, and the characters of the input are counted as code
+ * points.
+ */
+final class RegexpShapes {
+
+    /**
+     * Base class of the shapes, compared by their source.
+     */
+    private abstract static class ShapeRegexp implements Regexp {
+
+        private final String pattern;
+
+        ShapeRegexp(final String pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public String pattern() {
+            return pattern;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            return pattern.equals(((ShapeRegexp) o).pattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return pattern.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return pattern;
+        }
+    }
+
+    private static final class LiteralRegexp extends ShapeRegexp {
+
+        private final String literal;
+
+        private final boolean anchoredAtStart;
+
+        private final boolean anchoredAtEnd;
+
+        LiteralRegexp(final String pattern, final String literal, final boolean anchoredAtStart,
+                final boolean anchoredAtEnd) {
+            super(pattern);
+            this.literal = literal;
+            this.anchoredAtStart = anchoredAtStart;
+            this.anchoredAtEnd = anchoredAtEnd;
+        }
+
+        @Override
+        public boolean find(final CharSequence input) {
+            if (anchoredAtEnd) {
+                int terminatorStart = finalLineTerminatorStart(input);
+                return endsWithLiteral(input, input.length())
+                        || (terminatorStart >= 0 && endsWithLiteral(input, terminatorStart));
+            } else if (anchoredAtStart) {
+                return regionMatches(input, 0, literal);
+            }
+            int last = input.length() - literal.length();
+            for (int i = 0; i <= last; ++i) {
+                if (regionMatches(input, i, literal)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean endsWithLiteral(final CharSequence input, final int end) {
+            int start = end - literal.length();
+            return anchoredAtStart ? start == 0 && regionMatches(input, 0, literal)
+                    : start >= 0 && regionMatches(input, start, literal);
+        }
+    }
+
+    private static final class ClassRepetitionRegexp extends ShapeRegexp {
+
+        private final String prefix;
+
+        /**
+         * The ASCII members of the class, as a bitset.
+         */
+        private final long asciiLow;
+
+        private final long asciiHigh;
+
+        private final int[] ranges;
+
+        private final int min;
+
+        private final int max;
+
+        private final boolean anchoredAtEnd;
+
+        ClassRepetitionRegexp(final String pattern, final String prefix, final int[] ranges, final int min,
+                final int max, final boolean anchoredAtEnd) {
+            super(pattern);
+            this.prefix = prefix;
+            long low = 0;
+            long high = 0;
+            for (int c = 0; c < 128; ++c) {
+                if (LinearRegexp.contains(ranges, c)) {
+                    if (c < 64) {
+                        low |= 1L << c;
+                    } else {
+                        high |= 1L << (c - 64);
+                    }
+                }
+            }
+            this.asciiLow = low;
+            this.asciiHigh = high;
+            this.ranges = ranges;
+            this.min = min;
+            this.max = max;
+            this.anchoredAtEnd = anchoredAtEnd;
+        }
+
+        private boolean isMember(final int c) {
+            if (c < 64) {
+                return (asciiLow & (1L << c)) != 0;
+            } else if (c < 128) {
+                return (asciiHigh & (1L << (c - 64))) != 0;
+            }
+            return LinearRegexp.contains(ranges, c);
+        }
+
+        @Override
+        public boolean find(final CharSequence input) {
+            if (!regionMatches(input, 0, prefix)) {
+                return false;
+            }
+            int length = input.length();
+            int terminatorStart = anchoredAtEnd ? finalLineTerminatorStart(input) : -1;
+            int position = prefix.length();
+            int count = 0;
+            while (true) {
+                if (!anchoredAtEnd && count == min) {
+                    return true;
+                }
+                if (position == terminatorStart && count >= min) {
+                    return true;
+                }
+                if (position == length) {
+                    return anchoredAtEnd && count >= min;
+                }
+                if (count == max) {
+                    return false;
+                }
+                int c = Character.codePointAt(input, position);
+                if (!isMember(c)) {
+                    return false;
+                }
+                position += Character.charCount(c);
+                ++count;
+            }
+        }
+    }
+
+    private static boolean regionMatches(final CharSequence input, final int offset, final String literal) {
+        if (offset + literal.length() > input.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); ++i) {
+            if (input.charAt(offset + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the start of the line terminator at the end of {@code input}, where {@code $} matches besides
+     * the end of the input.
+     *
+     * @return the start of the line terminator, or {@code -1} if the input doesn't end with a line
+     * terminator
+     */
+    private static int finalLineTerminatorStart(final CharSequence input) {
+        int length = input.length();
+        if (length == 0) {
+            return -1;
+        }
+        char last = input.charAt(length - 1);
+        if (last == '\n') {
+            return length >= 2 && input.charAt(length - 2) == '\r' ? length - 2 : length - 1;
+        }
+        return last == '\r' || last == 0x85 || last == 0x2028 || last == 0x2029 ? length - 1 : -1;
+    }
+
+    private static boolean isAssertion(final Node node, final int op) {
+        return node instanceof AssertionNode && ((AssertionNode) node).op == op;
+    }
+
+    private static boolean isSingleCharacter(final Node node) {
+        if (!(node instanceof CharClassNode)) {
+            return false;
+        }
+        int[] ranges = ((CharClassNode) node).ranges;
+        return ranges.length == 2 && ranges[0] == ranges[1]
+                && ranges[0] < Character.MIN_SUPPLEMENTARY_CODE_POINT;
+    }
+
+    /**
+     * Analyzes the syntax tree of {@code regexp}.
+     *
+     * @return a specialized matcher, or {@code null} if the regular expression doesn't have a recognized shape
+     */
+    static Regexp analyze(final String regexp, final Node root) {
+        List<Node> items = root instanceof ConcatenationNode
+                ? ((ConcatenationNode) root).items
+                : Collections.singletonList(root);
+        int start = 0;
+        int end = items.size();
+        boolean anchoredAtStart = start < end && isAssertion(items.get(start), LinearRegexp.BEGIN);
+        if (anchoredAtStart) {
+            ++start;
+        }
+        boolean anchoredAtEnd = start < end && isAssertion(items.get(end - 1), LinearRegexp.END);
+        if (anchoredAtEnd) {
+            --end;
+        }
+        StringBuilder literal = new StringBuilder();
+        while (start < end && isSingleCharacter(items.get(start))) {
+            literal.append((char) ((CharClassNode) items.get(start++)).ranges[0]);
+        }
+        if (start == end) {
+            return new LiteralRegexp(regexp, literal.toString(), anchoredAtStart, anchoredAtEnd);
+        }
+        if (!anchoredAtStart || start + 1 != end) {
+            return null;
+        }
+        Node last = items.get(start);
+        if (last instanceof CharClassNode) {
+            return new ClassRepetitionRegexp(regexp, literal.toString(), ((CharClassNode) last).ranges, 1, 1,
+                    anchoredAtEnd);
+        } else if (last instanceof RepetitionNode && ((RepetitionNode) last).item instanceof CharClassNode) {
+            RepetitionNode repetition = (RepetitionNode) last;
+            return new ClassRepetitionRegexp(regexp, literal.toString(),
+                    ((CharClassNode) repetition.item).ranges, repetition.min, repetition.max, anchoredAtEnd);
+        }
+        return null;
+    }
+
+    /**
+     * Analyzes {@code regexp}.
+     *
+     * @return a specialized matcher, or {@code null} if the regular expression doesn't have a recognized shape
+     */
+    static Regexp analyze(final String regexp) {
+        try {
+            return analyze(regexp, RegexpCompiler.parse(regexp));
+        } catch (UnsupportedRegexpException e) {
+            return null;
+        }
+    }
+
+    private RegexpShapes() {
+    }
+}
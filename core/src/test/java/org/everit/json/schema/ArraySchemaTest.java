@@ -16,6 +16,7 @@
 package org.everit.json.schema;
 
 import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.Test;
@@ -23,6 +24,10 @@ import org.junit.Test;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -68,6 +73,25 @@ public class ArraySchemaTest {
         TestSupport.expectFailure(subject, BooleanSchema.INSTANCE, "#/2", ARRAYS.get("boolArrFailure"));
     }
 
+    @Test
+    public void uniqueItemsWithStructurallyEqualObjects() throws Exception {
+        ArraySchema subject = ArraySchema.builder().uniqueItems(true).build();
+        assertTrue(subject.isValid(new JSONArray("[{\"a\":1,\"b\":2},{\"a\":2,\"b\":1},[1],[[1]]]")));
+        assertFalse(subject.isValid(new JSONArray("[{\"a\":1,\"b\":2},[1],{\"b\":2,\"a\":1}]")));
+        assertFalse(subject.isValid(new JSONArray("[[{\"x\":null}],1,[{\"x\":null}]]")));
+    }
+
+    @Test
+    public void isValid() throws Exception {
+        ArraySchema subject = ArraySchema.builder()
+                .addItemSchema(BooleanSchema.INSTANCE)
+                .schemaOfAdditionalItems(NullSchema.INSTANCE)
+                .build();
+        assertTrue(subject.isValid(ARRAYS.get("additionalItemsSchema")));
+        assertFalse(subject.isValid(ARRAYS.get("additionalItemsSchemaFailure")));
+        assertFalse(subject.isValid("foo"));
+    }
+
     @Test
     public void doesNotRequireExplicitArray() throws Exception {
         ArraySchema.builder()
@@ -158,6 +182,12 @@ public class ArraySchemaTest {
         TestSupport.expectFailure(subject, "#", ARRAYS.get("nonUniqueItems"));
     }
 
+    @Test
+    public void uniqueItemsNumberViolation() throws Exception {
+        ArraySchema subject = ArraySchema.builder().uniqueItems(true).build();
+        TestSupport.expectFailure(subject, "#", ARRAYS.get("nonUniqueNumbers"));
+    }
+
     @Test
     public void uniqueItemsWithSameToString() throws Exception {
         ArraySchema.builder().uniqueItems(true).build()
@@ -208,4 +238,71 @@ public class ArraySchemaTest {
         String actual = SchemaLoader.load(rawSchemaJson).toString();
         assertTrue(ObjectComparator.deepEquals(rawSchemaJson, new JSONObject(actual)));
     }
+
+    private static JSONArray numbersWithStrings(final int length, final int stringEvery) {
+        JSONArray rval = new JSONArray();
+        for (int i = 0; i < length; ++i) {
+            rval.put((i + 1) % stringEvery == 0 ? String.valueOf(i) : i);
+        }
+        return rval;
+    }
+
+    private static ValidationException validationFailure(final Schema schema, final Object subject) {
+        try {
+            schema.validate(subject);
+        } catch (ValidationException e) {
+            return e;
+        }
+        throw new AssertionError("did not throw ValidationException");
+    }
+
+    @Test
+    public void parallelItemValidationReportsFailuresInIndexOrder() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            JSONArray subject = numbersWithStrings(1000, 7);
+            ArraySchema sequential = ArraySchema.builder()
+                    .allItemSchema(NumberSchema.builder().build())
+                    .build();
+            ArraySchema parallel = ArraySchema.builder()
+                    .allItemSchema(NumberSchema.builder().build())
+                    .parallelItemValidation(executor, 50)
+                    .build();
+            ValidationException expected = validationFailure(sequential, subject);
+            ValidationException actual = validationFailure(parallel, subject);
+            assertEquals(expected.getAllMessages(), actual.getAllMessages());
+            assertFalse(parallel.isValid(subject));
+            assertTrue(parallel.isValid(numbersWithStrings(1000, 1001)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void nestedParallelItemValidationWithSingleThread() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ArraySchema inner = ArraySchema.builder()
+                    .allItemSchema(NumberSchema.builder().build())
+                    .parallelItemValidation(executor, 2)
+                    .build();
+            ArraySchema outer = ArraySchema.builder()
+                    .allItemSchema(inner)
+                    .parallelItemValidation(executor, 2)
+                    .build();
+            JSONArray subject = new JSONArray();
+            for (int i = 0; i < 10; ++i) {
+                subject.put(numbersWithStrings(10, 11));
+            }
+            assertTrue(outer.isValid(subject));
+            outer.validate(subject);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveParallelItemThreshold() {
+        ArraySchema.builder().parallelItemValidation(Executors.newSingleThreadExecutor(), 0);
+    }
 }
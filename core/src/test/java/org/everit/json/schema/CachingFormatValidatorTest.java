@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import com.google.common.base.Optional;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CachingFormatValidatorTest {
+
+    private static class CountingFormatValidator extends AbstractFormatValidator {
+
+        private int calls;
+
+        @Override
+        public Optional<String> validate(final String subject) {
+            ++calls;
+            if (subject.length() % 2 == 0) {
+                return Optional.absent();
+            }
+            return Optional.of("the length of string [" + subject + "] is odd");
+        }
+
+        @Override
+        public String formatName() {
+            return "evenlength";
+        }
+    }
+
+    @Test
+    public void repeatedValuesAreValidatedOnce() {
+        CountingFormatValidator counting = new CountingFormatValidator();
+        CachingFormatValidator subject = new CachingFormatValidator(counting, 10);
+        for (int i = 0; i < 5; ++i) {
+            assertTrue(subject.isValid("ab"));
+            assertFalse(subject.isValid("abc"));
+        }
+        assertEquals(2, counting.calls);
+        assertEquals(8, subject.getCacheStats().hitCount());
+        assertEquals(0.8, subject.getCacheStats().hitRate(), 0.0);
+        assertEquals(Optional.of("the length of string [abc] is odd"), subject.validate("abc"));
+        assertEquals(Optional.<String>absent(), subject.validate("ab"));
+        assertEquals("evenlength", subject.formatName());
+    }
+
+    @Test
+    public void cacheIsBounded() {
+        CountingFormatValidator counting = new CountingFormatValidator();
+        CachingFormatValidator subject = new CachingFormatValidator(counting, 0);
+        subject.isValid("ab");
+        subject.isValid("ab");
+        assertEquals(2, counting.calls);
+    }
+
+    @Test
+    public void getFormatValidatorReturnsDecoratedInstance() {
+        CountingFormatValidator counting = new CountingFormatValidator();
+        assertSame(counting, new CachingFormatValidator(counting, 10).getFormatValidator());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeMaximumSize() {
+        new CachingFormatValidator(new CountingFormatValidator(), -1);
+    }
+
+    @Test
+    public void registeredWithLoader() throws Exception {
+        CountingFormatValidator counting = new CountingFormatValidator();
+        Schema schema = SchemaLoader.builder()
+                .schemaJson(new JSONObject("{\"type\":\"string\",\"format\":\"evenlength\"}"))
+                .addFormatValidator(counting, 100)
+                .build().load().build();
+        CachingFormatValidator formatValidator = (CachingFormatValidator) ((StringSchema) schema).getFormatValidator();
+        for (int i = 0; i < 3; ++i) {
+            assertTrue(schema.isValid("ab"));
+            schema.validate("ab");
+        }
+        assertEquals(1, counting.calls);
+        assertEquals(5, formatValidator.getCacheStats().hitCount());
+    }
+}
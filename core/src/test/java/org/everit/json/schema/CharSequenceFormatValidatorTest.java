@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import com.google.common.base.Optional;
+
+import org.everit.json.schema.internal.DateTimeFormatValidator;
+import org.everit.json.schema.internal.EmailFormatValidator;
+import org.everit.json.schema.internal.IPV4Validator;
+import org.everit.json.schema.internal.URIFormatValidator;
+import org.everit.json.schema.loader.internal.WrappingFormatValidator;
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CharSequenceFormatValidatorTest {
+
+    private static class CountingFormatValidator extends AbstractCharSequenceFormatValidator {
+
+        private int failureMessages;
+
+        @Override
+        public boolean isValid(final CharSequence subject) {
+            return subject.length() % 2 == 0;
+        }
+
+        @Override
+        public String failureMessage(final CharSequence subject) {
+            ++failureMessages;
+            return "odd length: " + subject;
+        }
+
+        @Override
+        public String formatName() {
+            return "evenlength";
+        }
+    }
+
+    private static class EvenCharNumValidator extends AbstractFormatValidator {
+
+        @Override
+        public Optional<String> validate(final String subject) {
+            if (subject.length() % 2 == 0) {
+                return Optional.absent();
+            }
+            return Optional.of("the length of string [" + subject + "] is odd");
+        }
+    }
+
+    @Test
+    public void builtInValidatorsCheckBuffersWithoutCopying() {
+        char[] buffer = "xx2015-03-13T11:00:00Z;127.0.0.1;a@b.com;http://a/b;".toCharArray();
+        assertTrue(new DateTimeFormatValidator().isValid(CharBuffer.wrap(buffer, 2, 20)));
+        assertTrue(new IPV4Validator().isValid(CharBuffer.wrap(buffer, 23, 9)));
+        assertTrue(new EmailFormatValidator().isValid(CharBuffer.wrap(buffer, 33, 7)));
+        assertTrue(new URIFormatValidator().isValid(CharBuffer.wrap(buffer, 41, 10)));
+        assertFalse(new IPV4Validator().isValid(CharBuffer.wrap(buffer, 23, 10)));
+    }
+
+    @Test
+    public void noneAcceptsEverythingAndRendersMessage() {
+        CharSequenceFormatValidator none = AbstractCharSequenceFormatValidator.adapt(FormatValidator.NONE);
+        assertTrue(none.isValid("anything"));
+        assertEquals("[anything] is valid", none.failureMessage("anything"));
+        assertFalse(FormatValidator.NONE.validate("anything").isPresent());
+    }
+
+    @Test
+    public void failureMessageIsRenderedOnlyWhenReported() {
+        CountingFormatValidator formatValidator = new CountingFormatValidator();
+        StringSchema schema = StringSchema.builder().formatValidator(formatValidator).build();
+        assertFalse(schema.isValid("abc"));
+        assertFalse(CompiledSchema.compile(schema).isValid("abc"));
+        assertEquals(0, formatValidator.failureMessages);
+        assertTrue(schema.isValid("ab"));
+        assertEquals(Optional.of("odd length: abc"), formatValidator.validate("abc"));
+        assertEquals(1, formatValidator.failureMessages);
+    }
+
+    @Test
+    public void stringValidatorIsAdapted() {
+        CharSequenceFormatValidator adapted = AbstractCharSequenceFormatValidator.adapt(new EvenCharNumValidator());
+        assertTrue(adapted.isValid(CharBuffer.wrap("ab")));
+        assertFalse(adapted.isValid("abc"));
+        assertEquals("the length of string [abc] is odd", adapted.failureMessage(CharBuffer.wrap("abc")));
+        assertEquals("unnamed-format", adapted.formatName());
+        CountingFormatValidator charSequenceValidator = new CountingFormatValidator();
+        assertSame(charSequenceValidator, AbstractCharSequenceFormatValidator.adapt(charSequenceValidator));
+    }
+
+    @Test
+    public void wrappingFormatValidatorAdaptsStringValidator() {
+        WrappingFormatValidator wrapping = new WrappingFormatValidator("evenlength", new EvenCharNumValidator());
+        assertTrue(wrapping.isValid("ab"));
+        assertFalse(wrapping.isValid("abc"));
+        assertEquals(Optional.of("the length of string [abc] is odd"), wrapping.validate("abc"));
+        assertEquals("evenlength", wrapping.formatName());
+        StringSchema schema = StringSchema.builder().formatValidator(wrapping).build();
+        assertFalse(CompiledSchema.compile(schema).isValid("abc"));
+        assertTrue(CompiledSchema.compile(schema).isValid("ab"));
+    }
+}
@@ -15,10 +15,12 @@
  */
 package org.everit.json.schema;
 
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,6 +29,7 @@ import nl.jqno.equalsverifier.Warning;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class CombinedSchemaTest {
@@ -114,10 +117,208 @@ public class CombinedSchemaTest {
         }
     }
 
+    @Test
+    public void isValid() {
+        assertTrue(CombinedSchema.anyOf(SUBSCHEMAS).build().isValid(20));
+        assertFalse(CombinedSchema.anyOf(SUBSCHEMAS).build().isValid(5));
+        assertTrue(CombinedSchema.oneOf(SUBSCHEMAS).build().isValid(9));
+        assertFalse(CombinedSchema.oneOf(SUBSCHEMAS).build().isValid(30));
+        assertTrue(CombinedSchema.allOf(SUBSCHEMAS).build().isValid(30));
+        assertFalse(CombinedSchema.allOf(SUBSCHEMAS).build().isValid(20));
+    }
+
+    @Test
+    public void successfulValidationDoesNotCreateSubschemaFailures() {
+        Schema throwingSubschema = new EmptySchema(EmptySchema.builder()) {
+            @Override
+            public void validate(Object subject) {
+                throw new AssertionError("validate() should not be called if the criterion holds");
+            }
+
+            @Override
+            public boolean isValid(Object subject) {
+                return false;
+            }
+        };
+        CombinedSchema.anyOf(Arrays.<Schema>asList(throwingSubschema, BooleanSchema.INSTANCE))
+                .build().validate(true);
+    }
+
+    private static class CountingSchema extends EmptySchema {
+
+        private final boolean valid;
+
+        int evaluationCount;
+
+        CountingSchema(final boolean valid) {
+            super(EmptySchema.builder());
+            this.valid = valid;
+        }
+
+        @Override
+        public void validate(final Object subject) {
+            ++evaluationCount;
+            if (!valid) {
+                throw new ValidationException(this, "invalid", "custom");
+            }
+        }
+
+        @Override
+        public boolean isValid(final Object subject) {
+            ++evaluationCount;
+            return valid;
+        }
+    }
+
+    private static int evaluationCount(final List<CountingSchema> subschemas) {
+        int count = 0;
+        for (CountingSchema subschema : subschemas) {
+            count += subschema.evaluationCount;
+        }
+        return count;
+    }
+
+    private static List<CountingSchema> countingSchemas(final boolean... valid) {
+        CountingSchema[] schemas = new CountingSchema[valid.length];
+        for (int i = 0; i < valid.length; ++i) {
+            schemas[i] = new CountingSchema(valid[i]);
+        }
+        return Arrays.asList(schemas);
+    }
+
+    @Test
+    public void anyOfStopsAtFirstMatch() {
+        List<CountingSchema> subschemas = countingSchemas(false, true, true, true);
+        assertTrue(CombinedSchema.anyOf(new ArrayList<Schema>(subschemas)).build().isValid(null));
+        assertEquals(2, evaluationCount(subschemas));
+    }
+
+    @Test
+    public void allOfStopsAtFirstFailure() {
+        List<CountingSchema> subschemas = countingSchemas(true, false, true, true);
+        assertFalse(CombinedSchema.allOf(new ArrayList<Schema>(subschemas)).build().isValid(null));
+        assertEquals(2, evaluationCount(subschemas));
+    }
+
+    @Test
+    public void oneOfStopsAtSecondMatch() {
+        List<CountingSchema> subschemas = countingSchemas(true, false, true, true);
+        assertFalse(CombinedSchema.oneOf(new ArrayList<Schema>(subschemas)).build().isValid(null));
+        assertEquals(3, evaluationCount(subschemas));
+    }
+
+    @Test
+    public void customCriterionEvaluatesEverySubschema() {
+        List<CountingSchema> subschemas = countingSchemas(true, true, false);
+        CombinedSchema.ValidationCriterion atLeastTwo = new CombinedSchema.ValidationCriterion() {
+            @Override
+            public void validate(final int subschemaCount, final int matchingSubschemaCount) {
+                if (matchingSubschemaCount < 2) {
+                    throw new ValidationException(null, "less than 2 matches", "atLeastTwo");
+                }
+            }
+        };
+        assertTrue(CombinedSchema.builder(new ArrayList<Schema>(subschemas)).criterion(atLeastTwo).build()
+                .isValid(null));
+        assertEquals(3, evaluationCount(subschemas));
+    }
+
+    @Test
+    public void failureReportsFirstFailureWithExactCount() {
+        List<CountingSchema> subschemas = countingSchemas(false, true, false, true);
+        try {
+            CombinedSchema.allOf(new ArrayList<Schema>(subschemas)).build().validate(null);
+            Assert.fail("did not throw exception");
+        } catch (ValidationException e) {
+            assertTrue(e.getMessage().endsWith("only 2 subschema matches out of 4"));
+            assertEquals(1, e.getCausingExceptions().size());
+        }
+    }
+
+    @Test
+    public void failingValidationEvaluatesEachSubschemaOnce() {
+        List<CountingSchema> allOf = countingSchemas(true, true, true, false);
+        assertFailureEvaluations(CombinedSchema.allOf(new ArrayList<Schema>(allOf)).build(),
+                "only 3 subschema matches out of 4");
+        assertEquals(5, evaluationCount(allOf));
+        assertEquals(2, allOf.get(3).evaluationCount);
+
+        List<CountingSchema> anyOf = countingSchemas(false, false, false);
+        assertFailureEvaluations(CombinedSchema.anyOf(new ArrayList<Schema>(anyOf)).build(),
+                "no subschema matched out of the total 3 subschemas");
+        assertEquals(4, evaluationCount(anyOf));
+        assertEquals(2, anyOf.get(0).evaluationCount);
+
+        List<CountingSchema> oneOf = countingSchemas(true, false, true, true);
+        assertFailureEvaluations(CombinedSchema.oneOf(new ArrayList<Schema>(oneOf)).build(),
+                "3 subschemas matched instead of one");
+        assertEquals(5, evaluationCount(oneOf));
+        assertEquals(2, oneOf.get(1).evaluationCount);
+    }
+
+    private static void assertFailureEvaluations(final CombinedSchema subject, final String expectedMessage) {
+        try {
+            subject.validate(null);
+            Assert.fail("did not throw exception");
+        } catch (ValidationException e) {
+            assertTrue(e.getMessage().endsWith(expectedMessage));
+            assertEquals(1, e.getCausingExceptions().size());
+        }
+    }
+
+    @Test
+    public void successfulAnyOfValidationStopsAtFirstMatch() {
+        List<CountingSchema> subschemas = countingSchemas(false, true, true, true);
+        CombinedSchema.anyOf(new ArrayList<Schema>(subschemas)).build().validate(null);
+        assertEquals(2, evaluationCount(subschemas));
+    }
+
+    @Test
+    public void detailedFailuresReportEveryFailure() {
+        List<CountingSchema> subschemas = countingSchemas(false, true, false, false);
+        try {
+            CombinedSchema.allOf(new ArrayList<Schema>(subschemas)).detailedFailures(true).build().validate(null);
+            Assert.fail("did not throw exception");
+        } catch (ValidationException e) {
+            assertTrue(e.getMessage().endsWith("only 1 subschema matches out of 4"));
+            assertEquals(3, e.getCausingExceptions().size());
+        }
+    }
+
+    private static class NoDigitsStringSchema extends StringSchema {
+
+        NoDigitsStringSchema() {
+            super(StringSchema.builder());
+        }
+
+        @Override
+        public void validate(final Object subject) {
+            super.validate(subject);
+            if (subject instanceof String && ((String) subject).matches(".*[0-9].*")) {
+                throw new ValidationException(this, "digits are not allowed", "custom");
+            }
+        }
+    }
+
+    @Test
+    public void subclassOverridingOnlyValidateIsNotSkipped() throws Exception {
+        Schema noDigits = new NoDigitsStringSchema();
+        assertFalse(noDigits.isValid("a1"));
+        assertTrue(noDigits.isValid("ab"));
+        CombinedSchema allOf = CombinedSchema.allOf(Arrays.<Schema>asList(noDigits, StringSchema.builder().build()))
+                .build();
+        assertFalse(allOf.isValid("a1"));
+        TestSupport.expectFailure(allOf, "a1");
+        assertFalse(CombinedSchema.anyOf(Arrays.<Schema>asList(noDigits, NullSchema.INSTANCE)).build().isValid("a1"));
+        assertTrue(NotSchema.builder().mustNotMatch(noDigits).build().isValid("a1"));
+        assertFalse(ArraySchema.builder().allItemSchema(noDigits).build().isValid(new JSONArray("[\"a\", \"b2\"]")));
+    }
+
     @Test
     public void equalsVerifier() {
         EqualsVerifier.forClass(CombinedSchema.class)
                 .withRedefinedSuperclass()
+                .withIgnoredFields("discriminatorIndex")
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
     }
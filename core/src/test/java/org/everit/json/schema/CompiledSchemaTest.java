@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledSchemaTest {
+
+    private static void assertSameResult(final Schema schema, final Object... subjects) {
+        CompiledSchema compiled = CompiledSchema.compile(schema);
+        for (Object subject : subjects) {
+            assertEquals("result for " + subject, schema.isValid(subject), compiled.isValid(subject));
+        }
+    }
+
+    @Test
+    public void leafSchemas() throws Exception {
+        Object[] subjects = {null, JSONObject.NULL, true, "foo", "", 2, 2.5, 11L, new JSONObject(), new JSONArray()};
+        assertSameResult(EmptySchema.INSTANCE, subjects);
+        assertSameResult(BooleanSchema.INSTANCE, subjects);
+        assertSameResult(NullSchema.INSTANCE, subjects);
+        assertSameResult(StringSchema.builder().minLength(1).maxLength(3).pattern("^f").build(), subjects);
+        assertSameResult(StringSchema.builder().requiresString(false).build(), subjects);
+        assertSameResult(NumberSchema.builder().minimum(2).exclusiveMinimum(true).maximum(11).build(), subjects);
+        assertSameResult(NumberSchema.builder().requiresInteger(true).multipleOf(2).build(), subjects);
+        assertSameResult(EnumSchema.builder()
+                .possibleValues(new HashSet<Object>(Arrays.<Object>asList(true, "foo", 2))).build(), subjects);
+    }
+
+    @Test
+    public void combinedSchemas() {
+        Schema string = StringSchema.builder().build();
+        Schema shortString = StringSchema.builder().maxLength(2).build();
+        Object[] subjects = {"a", "abc", 2};
+        assertSameResult(CombinedSchema.allOf(Arrays.asList(string, shortString)).build(), subjects);
+        assertSameResult(CombinedSchema.anyOf(Arrays.asList(string, shortString)).build(), subjects);
+        assertSameResult(CombinedSchema.oneOf(Arrays.asList(string, shortString)).build(), subjects);
+        assertSameResult(NotSchema.builder().mustNotMatch(shortString).build(), subjects);
+    }
+
+    @Test
+    public void arraySchemas() throws Exception {
+        Object[] subjects = {new JSONArray("[]"), new JSONArray("[true, 1, 1]"), new JSONArray("[true, 1, \"x\"]"),
+                new JSONArray("[true]"), "not an array"};
+        assertSameResult(ArraySchema.builder().uniqueItems(true).minItems(1).maxItems(3).build(), subjects);
+        assertSameResult(ArraySchema.builder()
+                .addItemSchema(BooleanSchema.INSTANCE)
+                .addItemSchema(NumberSchema.builder().build())
+                .schemaOfAdditionalItems(NumberSchema.builder().build())
+                .build(), subjects);
+        assertSameResult(ArraySchema.builder()
+                .addItemSchema(BooleanSchema.INSTANCE)
+                .additionalItems(false)
+                .build(), subjects);
+        assertSameResult(ArraySchema.builder().requiresArray(false).allItemSchema(BooleanSchema.INSTANCE).build(),
+                subjects);
+    }
+
+    @Test
+    public void objectSchemas() throws Exception {
+        Object[] subjects = {new JSONObject("{}"), new JSONObject("{\"a\":1}"), new JSONObject("{\"a\":1,\"b\":true}"),
+                new JSONObject("{\"a\":\"x\",\"x1\":2}"), new JSONObject("{\"b\":true,\"c\":null}"), "not an object"};
+        assertSameResult(ObjectSchema.builder()
+                .addPropertySchema("a", NumberSchema.builder().build())
+                .addRequiredProperty("a")
+                .patternProperty("^x", NumberSchema.builder().build())
+                .additionalProperties(false)
+                .build(), subjects);
+        assertSameResult(ObjectSchema.builder()
+                .minProperties(1)
+                .maxProperties(2)
+                .propertyDependency("b", "a")
+                .schemaOfAdditionalProperties(BooleanSchema.INSTANCE)
+                .build(), subjects);
+        assertSameResult(ObjectSchema.builder()
+                .requiresObject(false)
+                .schemaDependency("a", ObjectSchema.builder().addRequiredProperty("b").build())
+                .build(), subjects);
+    }
+
+    @Test
+    public void recursiveSchema() throws Exception {
+        Schema schema = SchemaLoader.load(new JSONObject("{"
+                + "\"type\":\"object\","
+                + "\"properties\":{"
+                + "  \"value\":{\"type\":\"integer\"},"
+                + "  \"children\":{\"type\":\"array\",\"items\":{\"$ref\":\"#\"}}"
+                + "}}"));
+        CompiledSchema compiled = CompiledSchema.compile(schema);
+        assertTrue(compiled.isValid(new JSONObject("{\"value\":1,\"children\":[{\"value\":2,\"children\":[]}]}")));
+        assertFalse(compiled.isValid(new JSONObject("{\"value\":1,\"children\":[{\"value\":\"2\"}]}")));
+        assertFalse(compiled.isValid(new JSONObject(
+                "{\"children\":[{\"children\":[{\"children\":[{\"value\":true}]}]}]}")));
+    }
+
+    @Test
+    public void subclassesAreCalled() {
+        Schema rejectingEverything = new EmptySchema(EmptySchema.builder()) {
+            @Override
+            public boolean isValid(final Object subject) {
+                return false;
+            }
+        };
+        Schema schema = ArraySchema.builder().allItemSchema(rejectingEverything).build();
+        CompiledSchema compiled = CompiledSchema.compile(schema);
+        assertTrue(compiled.isValid(new JSONArray()));
+        assertFalse(compiled.isValid(new JSONArray().put(1)));
+        assertSame(schema, compiled.getSchema());
+    }
+
+}
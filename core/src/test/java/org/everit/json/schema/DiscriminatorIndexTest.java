@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DiscriminatorIndexTest {
+
+    private static final String VARIANTS = "["
+            + "{\"properties\": {\"kind\": {\"enum\": [\"circle\"]}, \"r\": {\"type\": \"number\"}},"
+            + " \"required\": [\"kind\", \"r\"]},"
+            + "{\"properties\": {\"kind\": {\"enum\": [\"square\", \"rect\"]}, \"a\": {\"type\": \"number\"}},"
+            + " \"required\": [\"kind\", \"a\"]},"
+            + "{\"properties\": {\"kind\": {\"$ref\": \"#/definitions/rect\"}, \"b\": {\"type\": \"number\"}},"
+            + " \"required\": [\"kind\", \"b\"]},"
+            + "{\"properties\": {\"size\": {\"type\": \"integer\"}}, \"required\": [\"size\"]}"
+            + "]";
+
+    private static CombinedSchema load(final String keyword) throws Exception {
+        return (CombinedSchema) SchemaLoader.load(new JSONObject("{\"" + keyword + "\": " + VARIANTS
+                + ", \"definitions\": {\"rect\": {\"enum\": [\"rect\"]}}}"));
+    }
+
+    private static DiscriminatorIndex indexOf(final Schema... subschemas) {
+        return DiscriminatorIndex.analyze(Arrays.asList(subschemas));
+    }
+
+    @Test
+    public void candidatesByDiscriminatorValue() throws Exception {
+        CombinedSchema schema = load("oneOf");
+        DiscriminatorIndex index = schema.discriminatorIndex();
+        assertEquals("kind", index.getPropertyName());
+        Schema[] subschemas = schema.getSubschemas().toArray(new Schema[4]);
+        assertArrayEquals(new Schema[] {subschemas[0], subschemas[3]},
+                index.candidatesOf(new JSONObject("{\"kind\": \"circle\"}")));
+        assertArrayEquals(new Schema[] {subschemas[1], subschemas[2], subschemas[3]},
+                index.candidatesOf(new JSONObject("{\"kind\": \"rect\"}")));
+        assertArrayEquals(new Schema[] {subschemas[3]},
+                index.candidatesOf(new JSONObject("{\"kind\": \"triangle\"}")));
+        assertArrayEquals(new Schema[] {subschemas[3]}, index.candidatesOf(new JSONObject("{\"size\": 1}")));
+        assertArrayEquals(subschemas, index.candidatesOf("circle"));
+    }
+
+    @Test
+    public void oneOfResultsAreUnchanged() throws Exception {
+        CombinedSchema schema = load("oneOf");
+        assertTrue(schema.isValid(new JSONObject("{\"kind\": \"circle\", \"r\": 1}")));
+        assertTrue(schema.isValid(new JSONObject("{\"kind\": \"rect\", \"a\": 1}")));
+        assertFalse(schema.isValid(new JSONObject("{\"kind\": \"rect\", \"a\": 1, \"b\": 2}")));
+        assertFalse(schema.isValid(new JSONObject("{\"kind\": \"circle\", \"r\": 1, \"size\": 2}")));
+        assertTrue(schema.isValid(new JSONObject("{\"kind\": \"triangle\", \"size\": 2}")));
+        assertFalse(schema.isValid(new JSONObject("{\"kind\": \"triangle\", \"r\": 2}")));
+        assertFalse(schema.isValid(new JSONObject("{\"kind\": \"circle\", \"a\": 1}")));
+        assertFalse(schema.isValid("circle"));
+    }
+
+    @Test
+    public void anyOfResultsAreUnchanged() throws Exception {
+        CombinedSchema schema = load("anyOf");
+        assertTrue(schema.isValid(new JSONObject("{\"kind\": \"rect\", \"a\": 1, \"b\": 2}")));
+        assertTrue(schema.isValid(new JSONObject("{\"kind\": \"square\", \"a\": 1}")));
+        assertFalse(schema.isValid(new JSONObject("{\"kind\": \"square\", \"b\": 1}")));
+        assertFalse(schema.isValid(new JSONObject("{\"r\": 1}")));
+        assertTrue(schema.isValid(new JSONObject("{\"kind\": 1, \"size\": 1}")));
+        assertTrue(schema.isValid(true));
+    }
+
+    @Test
+    public void failureIsReportedByEveryVariant() throws Exception {
+        CombinedSchema schema = load("oneOf");
+        try {
+            schema.validate(new JSONObject("{\"kind\": \"circle\", \"a\": 1}"));
+        } catch (ValidationException e) {
+            assertTrue(e.getMessage().endsWith("0 subschemas matched instead of one"));
+            assertEquals(1, e.getCausingExceptions().size());
+            return;
+        }
+        throw new AssertionError("did not throw exception");
+    }
+
+    @Test
+    public void failureIsReportedByDiscriminatedVariant() throws Exception {
+        CombinedSchema schema = load("oneOf");
+        Schema[] subschemas = schema.getSubschemas().toArray(new Schema[4]);
+        try {
+            schema.validate(new JSONObject("{\"kind\": \"square\", \"a\": \"x\"}"));
+        } catch (ValidationException e) {
+            assertEquals(1, e.getCausingExceptions().size());
+            ValidationException cause = e.getCausingExceptions().get(0);
+            assertEquals("#/a", cause.getPointerToViolation());
+            assertSame(((ObjectSchema) subschemas[1]).getPropertySchemas().get("a"), cause.getViolatedSchema());
+            return;
+        }
+        throw new AssertionError("did not throw exception");
+    }
+
+    @Test
+    public void detailedFailuresAreReportedByDiscriminatedVariants() throws Exception {
+        CombinedSchema schema = (CombinedSchema) SchemaLoader.builder()
+                .schemaJson(new JSONObject("{\"oneOf\": " + VARIANTS
+                        + ", \"definitions\": {\"rect\": {\"enum\": [\"rect\"]}}}"))
+                .detailedFailures(true)
+                .build().load().build();
+        try {
+            schema.validate(new JSONObject("{\"kind\": \"square\", \"a\": \"x\"}"));
+        } catch (ValidationException e) {
+            assertEquals(2, e.getCausingExceptions().size());
+            assertEquals("#/a", e.getCausingExceptions().get(0).getPointerToViolation());
+            assertTrue(e.getCausingExceptions().get(1).getMessage().contains("size"));
+            return;
+        }
+        throw new AssertionError("did not throw exception");
+    }
+
+    @Test
+    public void numericDiscriminatorValues() throws Exception {
+        Schema one = ObjectSchema.builder().addPropertySchema("v",
+                EnumSchema.builder().possibleValue(1).build()).addRequiredProperty("v").build();
+        Schema two = ObjectSchema.builder().addPropertySchema("v",
+                EnumSchema.builder().possibleValue(2L).build()).addRequiredProperty("v").build();
+        DiscriminatorIndex index = indexOf(one, two);
+        assertArrayEquals(new Schema[] {one}, index.candidatesOf(new JSONObject("{\"v\": 1.0}")));
+        assertArrayEquals(new Schema[] {two}, index.candidatesOf(new JSONObject("{\"v\": 2}")));
+        assertArrayEquals(new Schema[0], index.candidatesOf(new JSONObject("{\"v\": \"1\"}")));
+    }
+
+    @Test
+    public void notRequiredPropertyIsNotDiscriminator() {
+        Schema one = ObjectSchema.builder().addPropertySchema("v",
+                EnumSchema.builder().possibleValue("a").build()).build();
+        Schema two = ObjectSchema.builder().addPropertySchema("v",
+                EnumSchema.builder().possibleValue("b").build()).build();
+        DiscriminatorIndex index = indexOf(one, two);
+        assertNull(index.getPropertyName());
+    }
+
+    @Test
+    public void singleDiscriminatedSubschemaIsNotIndexed() {
+        Schema one = ObjectSchema.builder().addPropertySchema("v",
+                EnumSchema.builder().possibleValue("a").build()).addRequiredProperty("v").build();
+        assertNull(indexOf(one, BooleanSchema.INSTANCE).getPropertyName());
+    }
+
+    @Test
+    public void allOfPropertySchema() {
+        List<Schema> allOf = Arrays.<Schema>asList(StringSchema.builder().build(),
+                EnumSchema.builder().possibleValue("a").build());
+        Schema one = ObjectSchema.builder().addPropertySchema("v", CombinedSchema.allOf(allOf).build())
+                .addRequiredProperty("v").build();
+        Schema two = ObjectSchema.builder().addPropertySchema("v",
+                EnumSchema.builder().possibleValue("b").build()).addRequiredProperty("v").build();
+        DiscriminatorIndex index = indexOf(one, two);
+        assertEquals("v", index.getPropertyName());
+        assertArrayEquals(new Schema[] {one}, index.candidatesOf(new JSONObject("{\"v\": \"a\"}")));
+    }
+}
@@ -32,6 +32,8 @@ import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class EnumSchemaTest {
 
@@ -68,6 +70,65 @@ public class EnumSchemaTest {
         subject.validate(new JSONObject("{\"a\" : 0}"));
     }
 
+    @Test
+    public void structuredValuesAreComparedByContent() throws Exception {
+        possibleValues.add(new JSONArray("[1, {\"a\" : [true]}]"));
+        possibleValues.add(new JSONObject("{\"a\" : 0, \"b\" : null}"));
+        EnumSchema subject = subject();
+        assertTrue(subject.isValid(new JSONArray("[1, {\"a\" : [true]}]")));
+        assertTrue(subject.isValid(new JSONObject("{\"b\" : null, \"a\" : 0}")));
+        assertFalse(subject.isValid(new JSONArray("[{\"a\" : [true]}, 1]")));
+        assertFalse(subject.isValid(new JSONObject("{\"a\" : 0}")));
+        assertFalse(subject.isValid(new JSONArray("[\"foo\"]")));
+    }
+
+    @Test
+    public void scalarsAreNotMatchedByStructuredValues() throws Exception {
+        possibleValues.add(new JSONArray("[\"bar\"]"));
+        EnumSchema subject = subject();
+        assertFalse(subject.isValid("bar"));
+        assertFalse(subject.isValid(new JSONArray("[\"foo\"]")));
+        assertFalse(subject.isValid(new JSONObject()));
+    }
+
+    @Test
+    public void numbersAreMatchedByValue() throws Exception {
+        possibleValues.add(1);
+        possibleValues.add(new JSONObject("{\"a\" : 2}"));
+        EnumSchema subject = subject();
+        assertTrue(subject.isValid(1.0));
+        assertTrue(subject.isValid(1L));
+        assertTrue(subject.isValid(new JSONObject("{\"a\" : 2.0}")));
+        assertFalse(subject.isValid(1.5));
+        assertFalse(subject.isValid("1"));
+    }
+
+    @Test
+    public void nullValues() {
+        EnumSchema withoutNull = subject();
+        assertFalse(withoutNull.isValid(null));
+        assertFalse(withoutNull.isValid(JSONObject.NULL));
+        possibleValues.add(JSONObject.NULL);
+        EnumSchema withNull = subject();
+        assertTrue(withNull.isValid(JSONObject.NULL));
+        assertFalse(withNull.isValid(null));
+    }
+
+    @Test
+    public void largeEnum() {
+        for (int i = 0; i < 5000; ++i) {
+            possibleValues.add("code" + i);
+        }
+        EnumSchema subject = subject();
+        assertTrue(subject.isValid("code0"));
+        assertTrue(subject.isValid("code4999"));
+        assertTrue(subject.isValid(true));
+        assertFalse(subject.isValid("code5000"));
+        assertFalse(subject.isValid(false));
+        assertTrue(CompiledSchema.compile(subject).isValid("code1234"));
+        assertFalse(CompiledSchema.compile(subject).isValid("code-1"));
+    }
+
     private Set<Object> asSet(final JSONArray array) throws JSONException {
         return new HashSet<Object>() {{
             for (int i = 0; i < array.length(); i++) {
@@ -23,6 +23,9 @@ import org.junit.runners.Parameterized.Parameters;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
 @RunWith(Parameterized.class)
 public class FormatValidatorTest {
 
@@ -40,7 +43,9 @@ public class FormatValidatorTest {
                 new Object[]{"hostname"},
                 new Object[]{"ipv6"},
                 new Object[]{"ipv4"},
-                new Object[]{"uri"}
+                new Object[]{"uri"},
+                new Object[]{"uri-reference"},
+                new Object[]{"iri"}
         );
     }
 
@@ -49,6 +54,16 @@ public class FormatValidatorTest {
         AbstractFormatValidator.forFormat(formatName);
     }
 
+    @Test
+    public void builtInFormatIsNamedAfterItsFormat() {
+        assertEquals(formatName, AbstractFormatValidator.forBuiltInFormat(formatName).get().formatName());
+    }
+
+    @Test
+    public void unknownFormatIsNotBuiltIn() {
+        assertFalse(AbstractFormatValidator.forBuiltInFormat("unknown-" + formatName).isPresent());
+    }
+
     @Test(expected = NullPointerException.class)
     public void nullFormat() {
         AbstractFormatValidator.forFormat(null);
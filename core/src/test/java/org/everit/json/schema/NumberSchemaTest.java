@@ -22,12 +22,28 @@ import org.junit.Test;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class NumberSchemaTest {
 
     private final ResourceLoader loader = new ResourceLoader("/org/everit/jsonvalidator/tostring/");
 
+    private static String failureMessage(final Schema subject, final Object input) {
+        try {
+            subject.validate(input);
+            fail("did not throw exception for " + input);
+            return null;
+        } catch (ValidationException e) {
+            return e.getErrorMessage();
+        }
+    }
+
     @Test
     public void exclusiveMinimum() {
         NumberSchema subject = NumberSchema.builder().minimum(10.0).exclusiveMinimum(true).build();
@@ -44,6 +60,8 @@ public class NumberSchemaTest {
                 .expectedKeyword("maximum")
                 .input(21)
                 .expect();
+        assertEquals("21 is not lower or equal to 20.0", failureMessage(subject, 21));
+        assertEquals("20.5 is not lower or equal to 20.0", failureMessage(subject, 20.5));
     }
 
     @Test
@@ -73,6 +91,62 @@ public class NumberSchemaTest {
                 .expect();
     }
 
+    @Test
+    public void longsAreComparedExactly() {
+        NumberSchema subject = NumberSchema.builder().maximum(9007199254740992L).build();
+        assertTrue(subject.isValid(9007199254740992L));
+        TestSupport.failureOf(subject)
+                .expectedKeyword("maximum")
+                .input(9007199254740993L)
+                .expect();
+        assertEquals("9007199254740993 is not lower or equal to 9007199254740992",
+                failureMessage(subject, 9007199254740993L));
+    }
+
+    @Test
+    public void longsAreComparedToNonIntegralLimits() {
+        NumberSchema subject = NumberSchema.builder().minimum(1.5).maximum(3.0).exclusiveMaximum(true).build();
+        assertFalse(subject.isValid(1));
+        assertTrue(subject.isValid(2));
+        assertFalse(subject.isValid(3L));
+    }
+
+    @Test
+    public void longMultipleOfIsExact() {
+        NumberSchema subject = NumberSchema.builder().multipleOf(3).build();
+        assertTrue(subject.isValid(9007199254740993L));
+        assertFalse(subject.isValid(9007199254740994L));
+        assertEquals("9007199254740994 is not a multiple of 3", failureMessage(subject, 9007199254740994L));
+        assertTrue(subject.isValid(-9.0));
+        assertFalse(subject.isValid(4.5));
+    }
+
+    @Test
+    public void bigDecimalsAreComparedExactly() {
+        NumberSchema subject = NumberSchema.builder()
+                .minimum(new BigDecimal("0.1"))
+                .multipleOf(new BigDecimal("0.01"))
+                .build();
+        assertTrue(subject.isValid(new BigDecimal("12.34")));
+        assertFalse(subject.isValid(new BigDecimal("12.345")));
+        assertFalse(subject.isValid(new BigDecimal("0.09")));
+        assertEquals("12.345 is not a multiple of 0.01", failureMessage(subject, new BigDecimal("12.345")));
+        assertEquals("0.09 is not higher or equal to 0.1", failureMessage(subject, new BigDecimal("0.09")));
+        assertTrue(subject.isValid(new BigInteger("100000000000000000000000")));
+    }
+
+    @Test
+    public void decimalMultipleOfDouble() {
+        NumberSchema subject = NumberSchema.builder().multipleOf(0.1).build();
+        assertTrue(subject.isValid(0.3));
+        assertFalse(subject.isValid(0.35));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void infiniteLimit() {
+        NumberSchema.builder().maximum(Double.POSITIVE_INFINITY).build();
+    }
+
     @Test
     public void notRequiresNumber() {
         NumberSchema.builder().requiresNumber(false).build().validate("foo");
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectComparatorTest {
+
+    private static void assertDeepEqual(final Object obj1, final Object obj2) throws Exception {
+        assertTrue(ObjectComparator.deepEquals(obj1, obj2));
+        assertEquals(ObjectComparator.deepHashCode(obj1), ObjectComparator.deepHashCode(obj2));
+    }
+
+    @Test
+    public void objectsWithDifferentKeyOrder() throws Exception {
+        JSONObject obj1 = new JSONObject("{\"a\":1,\"b\":[true,{\"c\":null}],\"d\":\"x\"}");
+        JSONObject obj2 = new JSONObject("{\"d\":\"x\",\"b\":[true,{\"c\":null}],\"a\":1}");
+        assertDeepEqual(obj1, obj2);
+    }
+
+    @Test
+    public void arrays() throws Exception {
+        assertDeepEqual(new JSONArray("[1,\"a\",[]]"), new JSONArray("[1,\"a\",[]]"));
+        assertFalse(ObjectComparator.deepEquals(new JSONArray("[1,2]"), new JSONArray("[2,1]")));
+    }
+
+    @Test
+    public void primitives() throws Exception {
+        assertDeepEqual(null, null);
+        assertDeepEqual(JSONObject.NULL, JSONObject.NULL);
+        assertDeepEqual("foo", "foo");
+        assertDeepEqual(true, true);
+        assertFalse(ObjectComparator.deepEquals(null, JSONObject.NULL));
+    }
+
+    @Test
+    public void objectsWithDifferentKeys() throws Exception {
+        JSONObject obj = new JSONObject("{\"a\":1,\"b\":2}");
+        assertFalse(ObjectComparator.deepEquals(obj, new JSONObject("{\"a\":1}")));
+        assertFalse(ObjectComparator.deepEquals(new JSONObject("{\"a\":1}"), obj));
+        assertFalse(ObjectComparator.deepEquals(obj, new JSONObject("{\"a\":1,\"c\":2}")));
+        assertFalse(ObjectComparator.deepEquals(obj, new JSONObject("{\"A\":1,\"b\":2}")));
+        assertFalse(ObjectComparator.deepEquals(obj, new JSONObject("{\"a\":1,\"b\":null}")));
+        assertDeepEqual(new JSONObject(), new JSONObject());
+    }
+
+    @Test
+    public void numbersAreComparedByValue() throws Exception {
+        assertDeepEqual(1, 1L);
+        assertDeepEqual(1, 1.0);
+        assertDeepEqual(1.0, new BigDecimal("1.00"));
+        assertDeepEqual(0.1, new BigDecimal("0.10"));
+        assertDeepEqual(-0.0, 0);
+        assertDeepEqual(1e20, new BigInteger("100000000000000000000"));
+        assertDeepEqual(Long.MAX_VALUE, new BigDecimal(Long.MAX_VALUE));
+        assertDeepEqual(new BigDecimal("1e-400"), new BigDecimal("0.1e-399"));
+        assertDeepEqual(Double.NaN, Double.NaN);
+        assertFalse(ObjectComparator.deepEquals(1, 1.5));
+        assertFalse(ObjectComparator.deepEquals(Long.MAX_VALUE, (double) Long.MAX_VALUE));
+        assertFalse(ObjectComparator.deepEquals(new BigDecimal("1e-400"), 0));
+        assertFalse(ObjectComparator.deepEquals(1, "1"));
+        assertFalse(ObjectComparator.deepEquals(1, true));
+    }
+
+    @Test
+    public void nestedNumbers() throws Exception {
+        assertDeepEqual(new JSONArray("[1, {\"a\": [2, 3.5]}]"), new JSONArray("[1.0, {\"a\": [2.0, 3.50]}]"));
+        assertFalse(ObjectComparator.deepEquals(new JSONArray("[1, 2]"), new JSONArray("[1.0, 2.5]")));
+    }
+
+}
@@ -26,12 +26,16 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class ObjectSchemaTest {
@@ -276,6 +280,87 @@ public class ObjectSchemaTest {
                 OBJECTS.get("patternPropertyViolation"));
     }
 
+    @Test
+    public void isValid() throws Exception {
+        ObjectSchema subject = ObjectSchema.builder()
+                .addPropertySchema("a", BooleanSchema.INSTANCE)
+                .patternProperty("^s_.*", new StringSchema())
+                .addRequiredProperty("a")
+                .additionalProperties(false)
+                .build();
+        assertTrue(subject.isValid(new JSONObject("{\"a\":true,\"s_1\":\"x\"}")));
+        assertFalse(subject.isValid(new JSONObject("{\"a\":true,\"s_1\":1}")));
+        assertFalse(subject.isValid(new JSONObject("{\"s_1\":\"x\"}")));
+        assertFalse(subject.isValid(new JSONObject("{\"a\":true,\"b\":1}")));
+    }
+
+    @Test
+    public void isValidWithDependenciesAndDuplicateRequiredProperties() throws Exception {
+        ObjectSchema subject = ObjectSchema.builder()
+                .addRequiredProperty("a")
+                .addRequiredProperty("a")
+                .addRequiredProperty("b")
+                .propertyDependency("a", "c")
+                .schemaDependency("b", ObjectSchema.builder().addRequiredProperty("d").build())
+                .build();
+        assertTrue(subject.isValid(new JSONObject("{\"a\":1,\"b\":2,\"c\":3,\"d\":4}")));
+        assertFalse(subject.isValid(new JSONObject("{\"a\":1,\"c\":3,\"d\":4,\"e\":5}")));
+        assertFalse(subject.isValid(new JSONObject("{\"a\":1,\"b\":2,\"d\":4}")));
+        assertFalse(subject.isValid(new JSONObject("{\"a\":1,\"b\":2,\"c\":3}")));
+    }
+
+    @Test
+    public void collectorReportsEveryViolation() throws Exception {
+        ObjectSchema subject = ObjectSchema.builder()
+                .addPropertySchema("a", BooleanSchema.INSTANCE)
+                .addRequiredProperty("a")
+                .addRequiredProperty("b")
+                .addRequiredProperty("c")
+                .propertyDependency("a", "d")
+                .patternProperty("^s_", new StringSchema())
+                .additionalProperties(false)
+                .maxProperties(2)
+                .build();
+        ValidationResult result = ValidationResult.collectAll();
+        subject.validate(new JSONObject("{\"a\":1,\"s_1\":2,\"x\":3}"), result);
+        List<String> keywords = new ArrayList<>();
+        for (ValidationException failure : result.getFailures()) {
+            keywords.add(failure.getKeyword());
+        }
+        Collections.sort(keywords);
+        Assert.assertEquals(Arrays.asList("additionalProperties", "dependencies", "maxProperties", "required",
+                "required", "type", "type"), keywords);
+    }
+
+    @Test
+    public void keyClassificationCache() throws Exception {
+        ObjectSchema subject = ObjectSchema.builder()
+                .patternProperty("^x-", new StringSchema())
+                .additionalProperties(false)
+                .build();
+        for (int i = 0; i < 3; ++i) {
+            assertTrue(subject.isValid(new JSONObject("{\"x-a\":\"a\",\"x-b\":\"b\"}")));
+            assertFalse(subject.isValid(new JSONObject("{\"y\":\"a\"}")));
+        }
+        Assert.assertEquals(3, subject.getKeyClassificationCacheStats().missCount());
+        Assert.assertEquals(6, subject.getKeyClassificationCacheStats().hitCount());
+    }
+
+    @Test
+    public void keyClassificationCacheDisabled() throws Exception {
+        ObjectSchema subject = ObjectSchema.builder()
+                .patternProperty("^x-", new StringSchema())
+                .keyClassificationCacheSize(0)
+                .build();
+        assertFalse(subject.isValid(new JSONObject("{\"x-a\":1}")));
+        Assert.assertEquals(0, subject.getKeyClassificationCacheStats().requestCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeKeyClassificationCacheSize() {
+        ObjectSchema.builder().keyClassificationCacheSize(-1);
+    }
+
     @Test
     public void patternPropsOverrideAdditionalProps() throws Exception {
         ObjectSchema.builder()
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class PatternPropertyMatcherTest {
+
+    private static final List<String> REGEXES = Arrays.asList(
+            "^x-",
+            "^x-.*",
+            "^x-[0-9]+$",
+            "^x\\.y",
+            "^ab?c",
+            "^a|b",
+            "num$",
+            "^",
+            "^\\d",
+            "^(foo)");
+
+    private static final List<String> KEYS = Arrays.asList(
+            "", "x", "x-", "x-1", "x-a", "x.y", "x-y", "ac", "abc", "bbb", "anum", "1", "foo", "fo");
+
+    private static List<Pattern> compileAll() {
+        List<Pattern> patterns = new ArrayList<>();
+        for (String regex : REGEXES) {
+            patterns.add(Pattern.compile(regex));
+        }
+        patterns.add(Pattern.compile("^X-", Pattern.CASE_INSENSITIVE));
+        return patterns;
+    }
+
+    @Test
+    public void sameResultAsFind() {
+        List<Pattern> patterns = compileAll();
+        PatternPropertyMatcher subject = new PatternPropertyMatcher(patterns);
+        int[] matches = new int[subject.size()];
+        for (String key : KEYS) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < patterns.size(); ++i) {
+                boolean found = patterns.get(i).matcher(key).find();
+                Assert.assertEquals(patterns.get(i) + " on " + key, found, subject.matches(i, key));
+                if (found) {
+                    expected.add(i);
+                }
+            }
+            int count = subject.findMatches(key, matches);
+            List<Integer> actual = new ArrayList<>();
+            for (int i = 0; i < count; ++i) {
+                actual.add(matches[i]);
+            }
+            Assert.assertEquals("matches of " + key, expected, actual);
+            Assert.assertEquals("matchesAny of " + key, !expected.isEmpty(), subject.matchesAny(key));
+        }
+    }
+
+    @Test
+    public void noPatterns() {
+        PatternPropertyMatcher subject = new PatternPropertyMatcher(new ArrayList<Pattern>());
+        Assert.assertEquals(0, subject.findMatches("key", new int[0]));
+        Assert.assertFalse(subject.matchesAny("key"));
+    }
+
+}
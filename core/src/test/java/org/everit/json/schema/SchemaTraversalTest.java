@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SchemaTraversalTest {
+
+    private static class RecordingVisitor extends SchemaVisitor {
+
+        private final List<String> visits = new ArrayList<>();
+
+        @Override
+        public void visitSchema(final Schema schema) {
+            visits.add("other");
+        }
+
+        @Override
+        public void visitStringSchema(final StringSchema schema) {
+            visits.add("string");
+        }
+
+        @Override
+        public void visitObjectSchema(final ObjectSchema schema) {
+            visits.add("object");
+        }
+
+        @Override
+        public void visitReferenceSchema(final ReferenceSchema schema) {
+            visits.add("ref");
+        }
+    }
+
+    @Test
+    public void acceptDispatchesByType() {
+        RecordingVisitor visitor = new RecordingVisitor();
+        StringSchema.builder().build().accept(visitor);
+        ObjectSchema.builder().build().accept(visitor);
+        BooleanSchema.INSTANCE.accept(visitor);
+        new Schema(EmptySchema.builder()) {
+
+            @Override
+            public void validate(final Object subject) {
+            }
+        }.accept(visitor);
+        assertEquals(Arrays.asList("string", "object", "other", "other"), visitor.visits);
+    }
+
+    @Test
+    public void walkVisitsInPreOrder() {
+        Schema schema = ObjectSchema.builder()
+                .addPropertySchema("a", StringSchema.builder().build())
+                .addPropertySchema("b", CombinedSchema.anyOf(Arrays.<Schema>asList(
+                        NullSchema.INSTANCE, StringSchema.builder().build())).build())
+                .build();
+        RecordingVisitor visitor = new RecordingVisitor();
+        Set<Schema> visited = SchemaTraversal.walk(schema, visitor);
+        assertEquals(Arrays.asList("object", "string", "other", "other", "string"), visitor.visits);
+        assertEquals(5, visited.size());
+    }
+
+    @Test
+    public void walkHandlesRecursiveSchemas() throws Exception {
+        Schema schema = SchemaLoader.load(new JSONObject("{"
+                + "\"type\":\"object\","
+                + "\"properties\":{\"child\":{\"$ref\":\"#\"}}"
+                + "}"));
+        RecordingVisitor visitor = new RecordingVisitor();
+        Set<Schema> visited = SchemaTraversal.walk(schema, visitor);
+        assertTrue(visited.contains(schema));
+        assertTrue(visitor.visits.contains("ref"));
+        assertEquals(visited.size(), visitor.visits.size());
+    }
+
+    @Test
+    public void sharedSubschemaVisitedOnce() {
+        StringSchema shared = StringSchema.builder().build();
+        Schema schema = ArraySchema.builder()
+                .addItemSchema(shared)
+                .addItemSchema(shared)
+                .schemaOfAdditionalItems(NotSchema.builder().mustNotMatch(shared).build())
+                .build();
+        RecordingVisitor visitor = new RecordingVisitor();
+        SchemaTraversal.walk(schema, visitor);
+        assertEquals(Arrays.asList("other", "string", "other"), visitor.visits);
+    }
+
+    @Test
+    public void subschemasOf() {
+        StringSchema child = StringSchema.builder().build();
+        List<Schema> actual = SchemaTraversal.subschemasOf(NotSchema.builder().mustNotMatch(child).build());
+        assertEquals(1, actual.size());
+        assertSame(child, actual.get(0));
+    }
+
+}
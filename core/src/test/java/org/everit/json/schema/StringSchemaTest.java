@@ -18,6 +18,7 @@ package org.everit.json.schema;
 import com.google.common.base.Optional;
 
 import org.everit.json.schema.loader.SchemaLoader;
+import org.everit.json.schema.regexp.LinearRegexpFactory;
 import org.json.JSONObject;
 import org.junit.Assert;
 import org.junit.Test;
@@ -25,6 +26,8 @@ import org.junit.Test;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class StringSchemaTest {
@@ -100,6 +103,18 @@ public class StringSchemaTest {
         StringSchema.builder().pattern("^a*$").build().validate("aaaa");
     }
 
+    @Test
+    public void patternWithRegexpFactory() {
+        StringSchema subject = StringSchema.builder()
+                .regexpFactory(new LinearRegexpFactory())
+                .pattern("^(a+)+$")
+                .build();
+        subject.validate("aaaa");
+        TestSupport.failureOf(subject).expectedKeyword("pattern").input("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa!").expect();
+        assertEquals("^(a+)+$", subject.getPattern().pattern());
+        assertSame(subject.getPattern(), subject.getPattern());
+    }
+
     @Test
     public void success() {
         StringSchema.builder().build().validate("foo");
@@ -122,6 +137,7 @@ public class StringSchemaTest {
     public void equalsVerifier() {
         EqualsVerifier.forClass(StringSchema.class)
                 .withRedefinedSuperclass()
+                .withIgnoredFields("javaUtilPattern")
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
     }
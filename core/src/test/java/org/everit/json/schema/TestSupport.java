@@ -148,6 +148,8 @@ public class TestSupport {
     }
 
     public static void expectFailure(final Failure failure) {
+        Assert.assertFalse(failure.subject() + " isValid() returned true for " + failure.input(),
+                failure.subject().isValid(failure.input()));
         try {
             failure.subject().validate(failure.input());
             Assert.fail(failure.subject() + " did not fail for " + failure.input());
@@ -162,6 +164,7 @@ public class TestSupport {
 
     private static void test(final Schema failingSchema, final String expectedPointer,
             final Object input) {
+        Assert.assertFalse(failingSchema + " isValid() returned true for " + input, failingSchema.isValid(input));
         try {
             failingSchema.validate(input);
             Assert.fail(failingSchema + " did not fail for " + input);
@@ -105,6 +105,32 @@ public class ValidationExceptionTest {
 
     }
 
+    @Test
+    public void prependDoesNotChangeOriginal() {
+        ValidationException original = createDummyException("#/a");
+        ValidationException changed = original.prepend("obj");
+        Assert.assertEquals("#/a", original.getPointerToViolation());
+        Assert.assertEquals("#/obj/a", changed.getPointerToViolation());
+    }
+
+    @Test
+    public void prependToNestedCausingExceptions() {
+        ValidationException nested = subjectWithCauses(createDummyException("#/x"),
+                createDummyException("#/y")).prepend("inner");
+        ValidationException actual = subjectWithCauses(nested, createDummyException("#/z"))
+                .prepend("b/c")
+                .prepend("a");
+        Assert.assertEquals("#/a/b~1c", actual.getPointerToViolation());
+        ValidationException changedNested = actual.getCausingExceptions().get(0);
+        Assert.assertEquals("#/a/b~1c/inner", changedNested.getPointerToViolation());
+        Assert.assertEquals("#/a/b~1c/inner/x",
+                changedNested.getCausingExceptions().get(0).getPointerToViolation());
+        Assert.assertEquals("#/a/b~1c/inner/y",
+                changedNested.getCausingExceptions().get(1).getPointerToViolation());
+        Assert.assertEquals("#/a/b~1c/z", actual.getCausingExceptions().get(1).getPointerToViolation());
+        Assert.assertSame(actual.getCausingExceptions(), actual.getCausingExceptions());
+    }
+
     private ValidationException subjectWithCauses(final ValidationException... causes) {
         if (causes.length == 0) {
             return new ValidationException("");
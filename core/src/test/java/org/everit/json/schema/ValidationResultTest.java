@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ValidationResultTest {
+
+    private static final ObjectSchema NO_ADDITIONAL_PROPS = ObjectSchema.builder()
+            .additionalProperties(false)
+            .build();
+
+    private static JSONObject threeExtraKeys() throws Exception {
+        return new JSONObject("{\"a\":1,\"b\":2,\"c\":3}");
+    }
+
+    @Test
+    public void collectAll() throws Exception {
+        ValidationResult result = ValidationResult.collectAll();
+        NO_ADDITIONAL_PROPS.validate(threeExtraKeys(), result);
+        assertFalse(result.isValid());
+        assertEquals(3, result.getFailures().size());
+        assertEquals(3, result.getViolationCount());
+    }
+
+    @Test
+    public void failFast() throws Exception {
+        ValidationResult result = ValidationResult.failFast();
+        NO_ADDITIONAL_PROPS.validate(threeExtraKeys(), result);
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.hasReachedLimit());
+    }
+
+    @Test
+    public void maxErrors() throws Exception {
+        ValidationResult result = ValidationResult.maxErrors(2);
+        NO_ADDITIONAL_PROPS.validate(threeExtraKeys(), result);
+        assertEquals(2, result.getFailures().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxErrorsMustBePositive() {
+        ValidationResult.maxErrors(0);
+    }
+
+    @Test
+    public void success() throws Exception {
+        ValidationResult result = ValidationResult.collectAll();
+        ObjectSchema.builder().build().validate(threeExtraKeys(), result);
+        assertTrue(result.isValid());
+        assertEquals(0, result.getViolationCount());
+    }
+
+    @Test
+    public void nestedPointers() throws Exception {
+        ObjectSchema subject = ObjectSchema.builder()
+                .addPropertySchema("arr", ArraySchema.builder()
+                        .allItemSchema(ObjectSchema.builder()
+                                .addPropertySchema("flag", BooleanSchema.INSTANCE)
+                                .build())
+                        .build())
+                .build();
+        ValidationResult result = ValidationResult.collectAll();
+        subject.validate(new JSONObject("{\"arr\":[{\"flag\":true},{\"flag\":1},{\"flag\":\"x\"}]}"), result);
+        assertEquals(2, result.getFailures().size());
+        assertEquals("#/arr/1/flag", result.getFailures().get(0).getPointerToViolation());
+        assertEquals("#/arr/2/flag", result.getFailures().get(1).getPointerToViolation());
+        assertSame(BooleanSchema.INSTANCE, result.getFailures().get(0).getViolatedSchema());
+    }
+
+    @Test
+    public void failFastStopsArrayWalk() throws Exception {
+        ArraySchema subject = ArraySchema.builder().allItemSchema(BooleanSchema.INSTANCE).build();
+        ValidationResult result = ValidationResult.failFast();
+        subject.validate(new JSONArray("[1, 2, 3]"), result);
+        assertEquals(1, result.getFailures().size());
+        assertEquals("#/0", result.getFailures().get(0).getPointerToViolation());
+    }
+
+    @Test
+    public void leafSchemaFailure() {
+        ValidationResult result = ValidationResult.collectAll();
+        BooleanSchema.INSTANCE.validate("foo", result);
+        assertEquals(1, result.getFailures().size());
+        assertEquals("#", result.getFailures().get(0).getPointerToViolation());
+        assertEquals("type", result.getFailures().get(0).getKeyword());
+    }
+
+}
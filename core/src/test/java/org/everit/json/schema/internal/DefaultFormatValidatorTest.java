@@ -27,6 +27,14 @@ public class DefaultFormatValidatorTest {
 
     private static final String IPV6_ADDR = "2001:db8:85a3:0:0:8a2e:370:7334";
 
+    private static final String BACKSLASH = "\\";
+
+    private static final String U_UMLAUT = "\u00fc";
+
+    private static final String GRINNING_FACE = "\ud83d\ude00";
+
+    private static final String PRIVATE_USE = "\ue000";
+
     private void assertFailure(final String subject, final FormatValidator format,
             final String expectedFailure) {
         Optional<String> opt = format.validate(subject);
@@ -114,6 +122,57 @@ public class DefaultFormatValidatorTest {
         assertSuccess("2015-02-28T11:00:00Z", new DateTimeFormatValidator());
     }
 
+    @Test
+    public void dateTimeLeapDay() {
+        assertSuccess("2016-02-29T11:00:00Z", new DateTimeFormatValidator());
+        assertSuccess("2000-02-29T11:00:00Z", new DateTimeFormatValidator());
+        assertFailure("2015-02-29T11:00:00Z", new DateTimeFormatValidator(),
+                "[2015-02-29T11:00:00Z] is not a valid date-time. Expected [yyyy-MM-dd'T'HH:mm:ssZ, yyyy-MM-dd'T'HH:mm:ss.[0-9]{1,9}Z]");
+        assertFalse("1900-02-29T11:00:00Z");
+        assertFalse("2016-04-31T11:00:00Z");
+    }
+
+    @Test
+    public void dateTimeOffsets() {
+        assertSuccess("2015-03-13T11:00:00.5-08:30", new DateTimeFormatValidator());
+        assertFalse("2015-03-13T11:00:00+24:00");
+        assertFalse("2015-03-13T11:00:00+01:60");
+        assertFalse("2015-03-13T11:00:00+0100");
+        assertFalse("2015-03-13T11:00:00+01:00Z");
+        assertFalse("2015-03-13T11:00:00");
+        assertFalse("2015-03-13T11:00:00.Z");
+    }
+
+    @Test
+    public void dateTimeFieldRanges() {
+        assertFalse("2015-13-13T11:00:00Z");
+        assertFalse("2015-00-13T11:00:00Z");
+        assertFalse("2015-03-00T11:00:00Z");
+        assertFalse("2015-03-13T24:00:00Z");
+        assertFalse("2015-03-13T11:60:00Z");
+        assertFalse("2015-03-13t11:00:00Z");
+        assertFalse("2015-03-13T11:00:00z");
+        assertFalse("2015-3-13T11:00:00Z");
+    }
+
+    @Test
+    public void dateTimeLeapSecond() {
+        assertSuccess("1998-12-31T23:59:60Z", new DateTimeFormatValidator());
+        assertSuccess("1998-12-31T15:59:60.123-08:00", new DateTimeFormatValidator());
+        assertFalse("1998-12-31T23:58:60Z");
+        assertFalse("1998-12-31T23:59:61Z");
+    }
+
+    @Test
+    public void dateTimeNullFailure() {
+        assertFailure(null, new DateTimeFormatValidator(),
+                "[null] is not a valid date-time. Expected [yyyy-MM-dd'T'HH:mm:ssZ, yyyy-MM-dd'T'HH:mm:ss.[0-9]{1,9}Z]");
+    }
+
+    private void assertFalse(final String dateTime) {
+        Assert.assertFalse(dateTime, DateTimeFormatValidator.isValidDateTime(dateTime));
+    }
+
     @Test
     public void emailFailure() {
         assertFailure("a.@b.com", new EmailFormatValidator(), "[a.@b.com] is not a valid email address");
@@ -124,6 +183,65 @@ public class DefaultFormatValidatorTest {
         assertSuccess("a@b.com", new EmailFormatValidator());
     }
 
+    @Test
+    public void emailForms() {
+        for (String valid : new String[] {"a@b.co", "first.last+tag@sub.example.com", "o'neil!#$%&*=?^_`{|}~-@b.com",
+                "a@[192.0.2.1]", "a@[IPv6:2001:db8::1]", "a@b.unknowntld"}) {
+            assertSuccess(valid, new EmailFormatValidator());
+        }
+        for (String invalid : new String[] {"", "@b.com", "a@", "a@b", ".a@b.com", "a..b@b.com", "a@b..com",
+                "a@-b.com", "a@b.com.", "a b@b.com", "a@b@c.com", "\"a\"@b.com", "a@[1.2.3]", "a@[::1]",
+                "a@b.123"}) {
+            Assert.assertFalse(invalid, EmailFormatValidator.isEmail(invalid));
+        }
+    }
+
+    @Test
+    public void emailLengthFailure() {
+        StringBuilder localPart = new StringBuilder();
+        for (int i = 0; i < 65; ++i) {
+            localPart.append('a');
+        }
+        Assert.assertFalse(EmailFormatValidator.isEmail(localPart + "@b.com"));
+        Assert.assertTrue(EmailFormatValidator.isEmail(localPart.substring(1) + "@b.com"));
+    }
+
+    @Test
+    public void strictEmailChecksTld() {
+        assertSuccess("a@b.com", new EmailFormatValidator(true));
+        assertFailure("a@b.unknowntld", new EmailFormatValidator(true),
+                "[a@b.unknowntld] is not a valid email address");
+        assertFailure(null, new EmailFormatValidator(), "[null] is not a valid email address");
+    }
+
+    @Test
+    public void hostnameForms() {
+        for (String valid : new String[] {"a", "localhost", "www.example.com", "www.example.com.", "1a.example.com",
+                "xn--bcher-kva.example", "a-b.c-d", "123.example.com"}) {
+            assertSuccess(valid, new HostnameFormatValidator());
+        }
+        for (String invalid : new String[] {"", ".", "a..b", ".a", "a.b..", "-a.com", "a-.com", "a_b.com",
+                "a b", "127.0.0.1", "b\u00fccher.example", "a.b-"}) {
+            assertFailure(invalid, new HostnameFormatValidator(), "[" + invalid + "] is not a valid hostname");
+        }
+    }
+
+    @Test
+    public void hostnameLabelLength() {
+        StringBuilder label = new StringBuilder();
+        for (int i = 0; i < 64; ++i) {
+            label.append('a');
+        }
+        assertFailure(label + ".com", new HostnameFormatValidator(), "[" + label + ".com] is not a valid hostname");
+        assertSuccess(label.substring(1) + ".com", new HostnameFormatValidator());
+    }
+
+    @Test
+    public void strictHostnameAcceptsInternationalizedNames() {
+        assertSuccess("b\u00fccher.example", new HostnameFormatValidator(true));
+        assertFailure("-a.com", new HostnameFormatValidator(true), "[-a.com] is not a valid hostname");
+    }
+
     @Test
     public void hostnameLengthFailure() {
         StringBuilder sb = new StringBuilder();
@@ -166,6 +284,17 @@ public class DefaultFormatValidatorTest {
         assertSuccess(THERE_IS_NO_PLACE_LIKE, new IPV4Validator());
     }
 
+    @Test
+    public void ipv4Forms() {
+        for (String valid : new String[] {"0.0.0.0", "255.255.255.255", "10.0.100.9"}) {
+            assertSuccess(valid, new IPV4Validator());
+        }
+        for (String invalid : new String[] {"", "1.2.3", "1.2.3.4.", "1.2.3.4.5", "256.0.0.1", "01.2.3.4",
+                "1..2.3", "1.2.3.1000", " 1.2.3.4", "1.2.3.-4", "::ffff:1.2.3.4"}) {
+            Assert.assertFalse(invalid, IPAddressValidator.isIpv4Address(invalid));
+        }
+    }
+
     @Test
     public void ipv6Failure() {
         assertFailure("asd", new IPV6Validator(), "[asd] is not a valid ipv6 address");
@@ -182,6 +311,20 @@ public class DefaultFormatValidatorTest {
         assertFailure(null, new IPV6Validator(), "[null] is not a valid ipv6 address");
     }
 
+    @Test
+    public void ipv6Forms() {
+        for (String valid : new String[] {"::", "::1", "1::", "1:2:3:4:5:6:7:8", "1::8", "1:2:3:4:5:6:7::",
+                "::2:3:4:5:6:7:8", "FEDC:ba98::3210", "::ffff:192.168.0.1", "1:2:3:4:5:6:1.2.3.4",
+                "1::5:6:1.2.3.4"}) {
+            assertSuccess(valid, new IPV6Validator());
+        }
+        for (String invalid : new String[] {"", ":", ":1", "1:", ":::", "1:::2", "1::2::3", "1:2:3:4:5:6:7:8:9",
+                "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8::", "::1:2:3:4:5:6:7:8", "12345::", "g::", "::1.2.3",
+                "::1.2.3.4:5", "1:2:3:4:5:6:7:1.2.3.4", "::256.1.1.1", "1.2.3.4"}) {
+            Assert.assertFalse(invalid, IPAddressValidator.isIpv6Address(invalid));
+        }
+    }
+
     @Test
     public void ipv6Success() {
         assertSuccess(IPV6_ADDR, new IPV6Validator());
@@ -192,6 +335,47 @@ public class DefaultFormatValidatorTest {
         assertFailure("12 34", new URIFormatValidator(), "[12 34] is not a valid URI");
     }
 
+    @Test
+    public void uriForms() {
+        for (String valid : new String[] {"http://foo.bar/?baz=qux#quux", "//foo.bar/?baz=qux#quux", "mailto:a@b.com",
+                "urn:isbn:0451450523", "http://[2001:db8::7]:80/c=GB?objectClass?one", "http://[v7.fe:80]/",
+                "ftp://user:pw@ftp.example.com:21/%20a%2Fb", "http://example.com/a(b)!$&'*+,;=:@", "a+b-c.d:",
+                "file:///etc/hosts", "http://192.168.0.1/"}) {
+            assertSuccess(valid, new URIFormatValidator());
+        }
+        for (String invalid : new String[] {"", "abc", "/abc", BACKSLASH + BACKSLASH + "WINDOWS" + BACKSLASH + "share",
+                "1http://a", "http://a b", "http://a/%2", "http://a/%zz", "http://[::1/", "http://[1::2::3]/",
+                "http://a:8o/", "http://a/#b#c", "http://a/{b}", "http://a/b|c", "http://ex" + U_UMLAUT + ".com/"}) {
+            assertFailure(invalid, new URIFormatValidator(), "[" + invalid + "] is not a valid URI");
+        }
+        assertFailure("//foo.bar", new URIFormatValidator(false), "[//foo.bar] is not a valid URI");
+    }
+
+    @Test
+    public void uriReferenceForms() {
+        for (String valid : new String[] {"", "abc", "/abc", "../a/b?c#d", "#frag", "?q", "//host", "a/b:c",
+                "http://a/b"}) {
+            assertSuccess(valid, new URIReferenceFormatValidator());
+        }
+        for (String invalid : new String[] {"a:b:c d", "ab:c/d e", "a%", ":a", "#a#b", "a b"}) {
+            Assert.assertFalse(invalid, URISyntax.isValid(invalid, false, false));
+        }
+        assertFailure(null, new URIReferenceFormatValidator(), "[null] is not a valid URI reference");
+    }
+
+    @Test
+    public void iriForms() {
+        assertSuccess("http://ex" + U_UMLAUT + "mple.com/p" + U_UMLAUT + "th?q" + U_UMLAUT + "#" + U_UMLAUT,
+                new IRIFormatValidator());
+        assertSuccess("http://example.com/" + GRINNING_FACE, new IRIFormatValidator());
+        assertSuccess("http://example.com/?" + PRIVATE_USE, new IRIFormatValidator());
+        assertFailure("http://example.com/" + PRIVATE_USE, new IRIFormatValidator(),
+                "[http://example.com/" + PRIVATE_USE + "] is not a valid IRI");
+        assertFailure("http://example.com/" + GRINNING_FACE.charAt(0), new IRIFormatValidator(),
+                "[http://example.com/" + GRINNING_FACE.charAt(0) + "] is not a valid IRI");
+        assertFailure("/relative", new IRIFormatValidator(), "[/relative] is not a valid IRI");
+    }
+
     @Test
     public void uriNullFailure() {
         assertFailure(null, new URIFormatValidator(), "[null] is not a valid URI");
@@ -12,6 +12,7 @@ import org.everit.json.schema.BooleanSchema;
 import org.everit.json.schema.CombinedSchema;
 import org.everit.json.schema.EmptySchema;
 import org.everit.json.schema.EnumSchema;
+import org.everit.json.schema.FormatValidator;
 import org.everit.json.schema.NotSchema;
 import org.everit.json.schema.NullSchema;
 import org.everit.json.schema.NumberSchema;
@@ -27,9 +28,13 @@ import org.everit.json.schema.internal.EmailFormatValidator;
 import org.everit.json.schema.internal.HostnameFormatValidator;
 import org.everit.json.schema.internal.IPV4Validator;
 import org.everit.json.schema.internal.IPV6Validator;
+import org.everit.json.schema.internal.IRIFormatValidator;
 import org.everit.json.schema.internal.URIFormatValidator;
+import org.everit.json.schema.internal.URIReferenceFormatValidator;
 import org.everit.json.schema.loader.SchemaLoader.SchemaLoaderBuilder;
 import org.everit.json.schema.loader.internal.DefaultSchemaClient;
+import org.everit.json.schema.regexp.JavaUtilRegexp;
+import org.everit.json.schema.regexp.LinearRegexpFactory;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.Assert;
@@ -41,6 +46,8 @@ import java.io.InputStream;
 import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class SchemaLoaderTest {
@@ -74,6 +81,8 @@ public class SchemaLoaderTest {
         SchemaLoader actual = SchemaLoader.builder().schemaJson(get("booleanSchema")).build();
         assertTrue(actual.getFormatValidator("date-time").get() instanceof DateTimeFormatValidator);
         assertTrue(actual.getFormatValidator("uri").get() instanceof URIFormatValidator);
+        assertTrue(actual.getFormatValidator("uri-reference").get() instanceof URIReferenceFormatValidator);
+        assertTrue(actual.getFormatValidator("iri").get() instanceof IRIFormatValidator);
         assertTrue(actual.getFormatValidator("email").get() instanceof EmailFormatValidator);
         assertTrue(actual.getFormatValidator("ipv4").get() instanceof IPV4Validator);
         assertTrue(actual.getFormatValidator("ipv6").get() instanceof IPV6Validator);
@@ -106,6 +115,26 @@ public class SchemaLoaderTest {
         TestSupport.expectFailure(subject, "asd");
     }
 
+    @Test
+    public void builtInFormatValidatorsAreShared() throws Exception {
+        JSONObject schema = new JSONObject("{\"type\":\"string\",\"format\":\"hostname\"}");
+        StringSchema first = (StringSchema) SchemaLoader.load(schema);
+        StringSchema second = (StringSchema) SchemaLoader.load(schema);
+        assertTrue(first.getFormatValidator() instanceof HostnameFormatValidator);
+        assertSame(first.getFormatValidator(), second.getFormatValidator());
+        assertFalse(SchemaLoader.builder().schemaJson(schema).build().getFormatValidator("unknown").isPresent());
+    }
+
+    @Test
+    public void customFormatOverridesBuiltIn() throws Exception {
+        FormatValidator custom = new HostnameFormatValidator(true);
+        StringSchema actual = (StringSchema) SchemaLoader.builder()
+                .schemaJson(new JSONObject("{\"type\":\"string\",\"format\":\"hostname\"}"))
+                .addFormatValidator(custom)
+                .build().load().build();
+        assertSame(custom, actual.getFormatValidator());
+    }
+
     @Test
     public void emptyPatternProperties() throws Exception {
         ObjectSchema actual = (ObjectSchema) SchemaLoader.load(get("emptyPatternProperties"));
@@ -354,6 +383,52 @@ public class SchemaLoaderTest {
         SchemaLoader.builder().schemaJson(schema).build().load();
     }
 
+    @Test
+    public void regexpFactoryIsPassedToChildLoaders() throws JSONException {
+        JSONObject schemaJson = new JSONObject("{\"properties\": {"
+                + "\"name\": {\"type\": \"string\", \"pattern\": \"^[a-z]+$\"},"
+                + "\"labels\": {\"patternProperties\": {\"^x-\": {\"type\": \"string\"}}}}}");
+        ObjectSchema schema = (ObjectSchema) SchemaLoader.builder()
+                .schemaJson(schemaJson)
+                .regexpFactory(new LinearRegexpFactory())
+                .build().load().build();
+        StringSchema nameSchema = (StringSchema) schema.getPropertySchemas().get("name");
+        assertFalse(nameSchema.getRegexp() instanceof JavaUtilRegexp);
+        assertEquals("^[a-z]+$", nameSchema.getPattern().pattern());
+        assertTrue(schema.isValid(new JSONObject("{\"name\": \"abc\", \"labels\": {\"x-a\": \"b\"}}")));
+        assertFalse(schema.isValid(new JSONObject("{\"name\": \"ABC\"}")));
+        assertFalse(schema.isValid(new JSONObject("{\"labels\": {\"x-a\": 1}}")));
+    }
+
+    @Test
+    public void detailedFailuresArePassedToCombinedSchemas() throws JSONException {
+        JSONObject schemaJson = new JSONObject("{\"properties\": {"
+                + "\"a\": {\"anyOf\": [{\"type\": \"string\"}, {\"type\": \"boolean\"}]},"
+                + "\"b\": {\"type\": [\"string\", \"boolean\"]}}}");
+        ObjectSchema schema = (ObjectSchema) SchemaLoader.builder()
+                .schemaJson(schemaJson)
+                .detailedFailures(true)
+                .build().load().build();
+        assertTrue(((CombinedSchema) schema.getPropertySchemas().get("a")).isDetailedFailures());
+        assertTrue(((CombinedSchema) schema.getPropertySchemas().get("b")).isDetailedFailures());
+        ObjectSchema defaultSchema = (ObjectSchema) SchemaLoader.load(schemaJson);
+        assertFalse(((CombinedSchema) defaultSchema.getPropertySchemas().get("a")).isDetailedFailures());
+    }
+
+    @Test
+    public void repeatedPatternsAreCompiledOnce() throws JSONException {
+        JSONObject schemaJson = new JSONObject("{\"properties\": {"
+                + "\"a\": {\"type\": \"string\", \"pattern\": \"^[a-z]+$\"},"
+                + "\"b\": {\"type\": \"string\", \"pattern\": \"^[a-z]+$\"},"
+                + "\"c\": {\"patternProperties\": {\"^[a-z]+$\": {}}}}}");
+        ObjectSchema schema = (ObjectSchema) SchemaLoader.load(schemaJson);
+        StringSchema a = (StringSchema) schema.getPropertySchemas().get("a");
+        StringSchema b = (StringSchema) schema.getPropertySchemas().get("b");
+        ObjectSchema c = (ObjectSchema) schema.getPropertySchemas().get("c");
+        assertSame(a.getRegexp(), b.getRegexp());
+        assertSame(a.getPattern(), c.getPatternProperties().keySet().iterator().next());
+    }
+
     @Test
     public void schemaJsonIdIsRecognized() throws Exception {
         SchemaClient client = Mockito.mock(SchemaClient.class);
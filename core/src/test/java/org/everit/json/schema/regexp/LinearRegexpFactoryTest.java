@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.regexp;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LinearRegexpFactoryTest {
+
+    private static final String[] INPUTS = {"", "a", "ab", "abc", "aab", "x-y", "123-4567", "a\n", "a\r\n", "\n",
+            "a\u0085", "foo bar", "_", "-", "A1", new String(Character.toChars(0x1F600))};
+
+    private final LinearRegexpFactory subject = new LinearRegexpFactory();
+
+    private void assertMatchesLikePattern(final String regexp) {
+        Regexp compiled = subject.compile(regexp);
+        assertFalse(regexp + " is compiled to " + compiled.getClass(), compiled instanceof JavaUtilRegexp);
+        Pattern pattern = Pattern.compile(regexp);
+        for (String input : INPUTS) {
+            assertEquals(regexp + " on [" + input + "]", pattern.matcher(input).find(), compiled.find(input));
+        }
+    }
+
+    private void assertFallsBack(final String regexp) {
+        Regexp compiled = subject.compile(regexp);
+        assertTrue(regexp + " is compiled to " + compiled.getClass(), compiled instanceof JavaUtilRegexp);
+    }
+
+    @Test
+    public void literalsAndAnchors() {
+        assertMatchesLikePattern("");
+        assertMatchesLikePattern("a");
+        assertMatchesLikePattern("^a");
+        assertMatchesLikePattern("b$");
+        assertMatchesLikePattern("^ab$");
+        assertMatchesLikePattern("^a$");
+        assertMatchesLikePattern("^$");
+        assertMatchesLikePattern("^x\\-");
+        assertMatchesLikePattern("]}");
+    }
+
+    @Test
+    public void characterClasses() {
+        assertMatchesLikePattern(".");
+        assertMatchesLikePattern("^.$");
+        assertMatchesLikePattern("[abc]+");
+        assertMatchesLikePattern("^[^a]");
+        assertMatchesLikePattern("^[a-z0-9_-]+$");
+        assertMatchesLikePattern("[-x]");
+        assertMatchesLikePattern("\\d{3}-\\d{4}");
+        assertMatchesLikePattern("^\\w+\\s\\w+$");
+        assertMatchesLikePattern("^[\\D]");
+        assertMatchesLikePattern("\\W");
+        assertMatchesLikePattern("\\S\\s");
+        assertMatchesLikePattern("\\x61\\u0062");
+        assertMatchesLikePattern("[\\n\\t]");
+    }
+
+    @Test
+    public void groupsAlternationsAndQuantifiers() {
+        assertMatchesLikePattern("^(a|b)*c?$");
+        assertMatchesLikePattern("^(?:ab)+$");
+        assertMatchesLikePattern("a|^b|c$");
+        assertMatchesLikePattern("^a{2}b");
+        assertMatchesLikePattern("^a{1,}b");
+        assertMatchesLikePattern("^a{0,2}b$");
+        assertMatchesLikePattern("^a*?b+?$");
+        assertMatchesLikePattern("^(a*)*$");
+        assertMatchesLikePattern("^()$");
+    }
+
+    @Test
+    public void unsupportedConstructsFallBackToPattern() {
+        assertFallsBack("(a)\\1");
+        assertFallsBack("a(?=b)");
+        assertFallsBack("(?<!a)b");
+        assertFallsBack("\\bfoo\\b");
+        assertFallsBack("(?i)abc");
+        assertFallsBack("a++");
+        assertFallsBack("\\p{L}");
+        assertFallsBack("[a-z&&[^x]]");
+        assertFallsBack("^.{100000}$");
+        assertFallsBack(new String(Character.toChars(0x1F600)));
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void invalidRegexp() {
+        subject.compile("a{");
+    }
+
+    @Test
+    public void catastrophicBacktrackingIsAvoided() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100000; ++i) {
+            input.append('x');
+        }
+        Regexp compiled = subject.compile("(x+x+)+y");
+        assertTrue(compiled instanceof LinearRegexp);
+        assertFalse(compiled.find(input));
+        input.append('y');
+        assertTrue(compiled.find(input));
+    }
+
+    @Test
+    public void searchStateIsReusedAcrossCalls() {
+        Regexp compiled = subject.compile("^(a|ab)*c$");
+        for (int i = 0; i < 3; ++i) {
+            assertTrue(compiled.find("ababac"));
+            assertFalse(compiled.find("ababa"));
+            assertTrue(compiled.find("c"));
+            assertFalse(compiled.find(""));
+        }
+    }
+
+    @Test
+    public void concurrentSearches() throws InterruptedException {
+        final Regexp compiled = subject.compile("^[a-z]+-\\d+$");
+        final AtomicInteger mismatches = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; ++t) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 10000; ++i) {
+                        if (!compiled.find("abc-" + i) || compiled.find("abc-" + i + "x")) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, mismatches.get());
+    }
+
+    @Test
+    public void equalsAndToString() {
+        assertEquals(subject.compile("^a+$"), subject.compile("^a+$"));
+        assertFalse(subject.compile("^a+$").equals(subject.compile("^a*$")));
+        assertEquals("^a+$", subject.compile("^a+$").toString());
+        assertEquals("^a+$", subject.compile("^a+$").pattern());
+    }
+}
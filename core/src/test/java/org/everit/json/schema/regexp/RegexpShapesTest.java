@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.json.schema.regexp;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RegexpShapesTest {
+
+    private static final String[] INPUTS = {"", "a", "abc", "abc\n", "abc\r\n", "abc\n\n", "\n", "x-abc", "urn:x",
+            "12345", "123456", "1234\n", "-", "a-b-c", "my.json", "my.json\r", new String(Character.toChars(0x1F600))};
+
+    private void assertShapeMatchesLikePattern(final String regexp) {
+        Regexp shape = RegexpShapes.analyze(regexp);
+        assertNotNull(regexp + " is not recognized", shape);
+        Pattern pattern = Pattern.compile(regexp);
+        for (String input : INPUTS) {
+            assertEquals(regexp + " on [" + input + "]", pattern.matcher(input).find(), shape.find(input));
+        }
+    }
+
+    @Test
+    public void literals() {
+        assertShapeMatchesLikePattern("");
+        assertShapeMatchesLikePattern("abc");
+        assertShapeMatchesLikePattern("^x-");
+        assertShapeMatchesLikePattern("^urn:");
+        assertShapeMatchesLikePattern("\\.json$");
+        assertShapeMatchesLikePattern("^abc$");
+        assertShapeMatchesLikePattern("^$");
+        assertShapeMatchesLikePattern("$");
+    }
+
+    @Test
+    public void classRepetitions() {
+        assertShapeMatchesLikePattern("^[a-z0-9-]+$");
+        assertShapeMatchesLikePattern("^\\d{5}$");
+        assertShapeMatchesLikePattern("^\\d{5}");
+        assertShapeMatchesLikePattern("^[a-c]{1,3}$");
+        assertShapeMatchesLikePattern("^[^-]*$");
+        assertShapeMatchesLikePattern("^.$");
+        assertShapeMatchesLikePattern("^x-[a-z]+$");
+        assertShapeMatchesLikePattern("^urn:\\w*");
+        assertShapeMatchesLikePattern("^\\s?$");
+    }
+
+    @Test
+    public void otherShapesAreNotRecognized() {
+        assertNull(RegexpShapes.analyze("[a-z]+"));
+        assertNull(RegexpShapes.analyze("^[a-z]+x$"));
+        assertNull(RegexpShapes.analyze("^a|b"));
+        assertNull(RegexpShapes.analyze("^(ab)+$"));
+        assertNull(RegexpShapes.analyze("^\\d{3}-\\d{4}$"));
+        assertNull(RegexpShapes.analyze("(a)\\1"));
+    }
+
+    @Test
+    public void javaUtilRegexpUsesShapes() {
+        Regexp regexp = new JavaUtilRegexp(Pattern.compile("^[a-z]+$"));
+        assertTrue(regexp.find("abc"));
+        assertFalse(regexp.find("ab1"));
+        Regexp caseInsensitive = new JavaUtilRegexp(Pattern.compile("^[a-z]+$", Pattern.CASE_INSENSITIVE));
+        assertTrue(caseInsensitive.find("ABC"));
+    }
+}
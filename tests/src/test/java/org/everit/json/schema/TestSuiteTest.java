@@ -119,6 +119,19 @@ public class TestSuiteTest {
     public void test() {
         try {
             Schema schema = SchemaLoader.load(schemaJson);
+            if (schema.isValid(input) != expectedToBeValid) {
+                throw new AssertionError("isValid() returned " + !expectedToBeValid + " for " + inputDescription);
+            }
+            ValidationResult result = ValidationResult.collectAll();
+            schema.validate(input, result);
+            if (result.isValid() != expectedToBeValid) {
+                throw new AssertionError("ValidationResult#isValid() returned " + !expectedToBeValid
+                        + " for " + inputDescription);
+            }
+            if (CompiledSchema.compile(schema).isValid(input) != expectedToBeValid) {
+                throw new AssertionError("CompiledSchema#isValid() returned " + !expectedToBeValid
+                        + " for " + inputDescription);
+            }
             schema.validate(input);
             if (!expectedToBeValid) {
                 throw new AssertionError("false success for " + inputDescription);